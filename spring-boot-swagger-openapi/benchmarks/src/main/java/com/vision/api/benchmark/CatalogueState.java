@@ -0,0 +1,114 @@
+package com.vision.api.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.vision.api.config.AppConfig;
+import com.vision.api.service.AuthorService;
+import com.vision.api.service.BookService;
+import com.vision.api.service.CatalogueReadModel;
+
+/**
+ * Boots the application against an in-memory H2 database seeded with
+ * {@code books} rows, {@value #BOOKS_PER_AUTHOR} books per author. With
+ * {@code -p readModel=true} reads are served by the in-memory read model, whose
+ * heap footprint is printed once it is built over the seeded rows.
+ */
+@State(Scope.Benchmark)
+public class CatalogueState {
+
+    static final int BOOKS_PER_AUTHOR = 10;
+    private static final int BATCH_SIZE = 5_000;
+    // ids used by data.sql are left alone
+    static final long FIRST_ID = 1_000L;
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int books;
+
+    @Param({ "false" })
+    public boolean readModel;
+
+    public ConfigurableApplicationContext context;
+    public BookService bookService;
+    public AuthorService authorService;
+    public long authorId;
+    public long bookId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppConfig.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new StatementCounter()))
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                // an argument, so it wins over application.yml unlike the defaults above
+                .run("--read-model.enabled=" + readModel);
+        seed(context.getBean(JdbcTemplate.class));
+        if (readModel) {
+            // built at startup over data.sql only
+            long before = usedHeap();
+            context.getBean(CatalogueReadModel.class).rebuild();
+            System.out.printf("%n  read model heap: %d MB for %d books%n", (usedHeap() - before) >> 20, books);
+        }
+
+        bookService = context.getBean(BookService.class);
+        authorService = context.getBean(AuthorService.class);
+        // an author in the middle of the table, owns exactly BOOKS_PER_AUTHOR books
+        authorId = FIRST_ID + (books / BOOKS_PER_AUTHOR) / 2;
+        bookId = FIRST_ID + books / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        int authors = Math.max(1, books / BOOKS_PER_AUTHOR);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < authors; i++) {
+            long id = FIRST_ID + i;
+            rows.add(new Object[] { id, "First" + i, "Last" + i, "author" + i + "@bench.io" });
+            if (rows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("insert into author (id, first_name, last_name, email) values (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into author (id, first_name, last_name, email) values (?, ?, ?, ?)", rows);
+        rows.clear();
+
+        for (int i = 0; i < books; i++) {
+            long id = FIRST_ID + i;
+            rows.add(new Object[] { id, "Title " + i, "Description " + i, "Genre" + (i % 20),
+                    BigDecimal.valueOf(5 + i % 50), FIRST_ID + i / BOOKS_PER_AUTHOR });
+            if (rows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("insert into book (id, title, description, genre, price, author_id) values (?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into book (id, title, description, genre, price, author_id) values (?, ?, ?, ?, ?, ?)", rows);
+    }
+}
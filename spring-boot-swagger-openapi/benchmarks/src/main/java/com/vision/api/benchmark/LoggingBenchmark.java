@@ -0,0 +1,176 @@
+package com.vision.api.benchmark;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.filter.RequestLogFilter;
+import com.vision.api.filter.SamplingTurboFilter;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import net.logstash.logback.encoder.LogstashEncoder;
+
+/**
+ * Logging cost a request thread pays for {@code POST /api/v1/books}. Before: the
+ * controller line concatenated with the DTO, written synchronously through the former
+ * console and file patterns (the file one with caller data). After: the parameterised
+ * DEBUG line, which is off, and the JSON access line handed to an AsyncAppender;
+ * unsampled: the same request when its endpoint was not sampled. Appenders write to
+ * temporary files, so the terminal does not dominate the numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private LoggerContext context;
+    private Logger before;
+    private Logger controller;
+    private Logger access;
+    private File directory;
+
+    private final BookDto book = BookDto.builder().id(42L).title("The Dark Tower").description("The man in black fled across the desert")
+            .genre("Sci-Fi").price(new BigDecimal("9.95"))
+            .author(AuthorDto.builder().id(7L).firstName("Stephen").lastName("King").email("stephen@vision.api").build()).build();
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("logging-benchmark").toFile();
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        SamplingTurboFilter sampling = new SamplingTurboFilter();
+        sampling.setContext(context);
+        sampling.start();
+        context.addTurboFilter(sampling);
+
+        before = context.getLogger("before");
+        before.setAdditive(false);
+        before.addAppender(file("console.log", pattern("%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n")));
+        before.addAppender(file("file.log", pattern("%date %level [%thread] %logger{10} [%file:%line] %msg%n ")));
+
+        Appender<ILoggingEvent> console = async(file("async-console.log",
+                pattern("%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} %X{correlationId} - %msg%n")));
+        Appender<ILoggingEvent> json = async(file("async-file.log", json()));
+        controller = context.getLogger("after.controller");
+        access = context.getLogger("after.access");
+        for (Logger logger : new Logger[] { controller, access }) {
+            logger.setAdditive(false);
+            logger.setLevel(Level.INFO);
+            logger.addAppender(console);
+            logger.addAppender(json);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.reset();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public void before() {
+        before.info("POST /api/v1/books : " + book);
+    }
+
+    @Benchmark
+    public void after() {
+        request(false);
+    }
+
+    @Benchmark
+    public void afterUnsampled() {
+        request(true);
+    }
+
+    // what RequestLogFilter and BookController log for one request
+    private void request(boolean unsampled) {
+        long start = System.nanoTime();
+        MDC.put(RequestLogFilter.CORRELATION_ID, "5f3a9c0e12b4d678");
+        if (unsampled) {
+            MDC.put(SamplingTurboFilter.UNSAMPLED, "true");
+        }
+        try {
+            controller.debug("POST /api/v1/books : {}", book);
+            if (!unsampled) {
+                access.info("{} {} {} {}", keyValue("method", "POST"), keyValue("path", "/api/v1/books"),
+                        keyValue("status", 201), keyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            }
+        } finally {
+            MDC.remove(RequestLogFilter.CORRELATION_ID);
+            MDC.remove(SamplingTurboFilter.UNSAMPLED);
+        }
+    }
+
+    private Encoder<ILoggingEvent> pattern(String pattern) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(pattern);
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> json() {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        return encoder;
+    }
+
+    private Appender<ILoggingEvent> file(String name, Encoder<ILoggingEvent> encoder) {
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(new File(directory, name).getPath());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    // same settings as logback.xml
+    private Appender<ILoggingEvent> async(Appender<ILoggingEvent> target) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(8192);
+        appender.setDiscardingThreshold(1638);
+        appender.setNeverBlock(true);
+        appender.addAppender(target);
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,98 @@
+package com.vision.api.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookResponseDto;
+import com.vision.api.mapper.AuthorMapper;
+import com.vision.api.mapper.AuthorMapperImpl;
+import com.vision.api.mapper.BookMapper;
+import com.vision.api.mapper.BookMapperImpl;
+import com.vision.api.model.Author;
+import com.vision.api.model.Book;
+
+/**
+ * Reflective ModelMapper against the generated MapStruct mappers for the
+ * conversions used by the services.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private AuthorMapper authorMapper;
+    private BookMapper bookMapper;
+
+    private Author author;
+    private Book book;
+    private BookDto bookDto;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        authorMapper = new AuthorMapperImpl();
+        bookMapper = new BookMapperImpl(authorMapper);
+
+        author = Author.builder().id(1L).firstName("Philip").lastName("Dick").email("editor@nexus.corp").build();
+        book = Book.builder().id(1L).title("VALIS").description("").genre("Sci-Fi").price(new BigDecimal("7.65")).author(author).build();
+        bookDto = bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public AuthorDto modelMapperAuthorToDto() {
+        return modelMapper.map(author, AuthorDto.class);
+    }
+
+    @Benchmark
+    public AuthorDto mapStructAuthorToDto() {
+        return authorMapper.toDto(author);
+    }
+
+    @Benchmark
+    public BookDto modelMapperBookToDto() {
+        return modelMapper.map(book, BookDto.class);
+    }
+
+    @Benchmark
+    public BookDto mapStructBookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public Book modelMapperBookDtoToEntity() {
+        return modelMapper.map(bookDto, Book.class);
+    }
+
+    @Benchmark
+    public Book mapStructBookDtoToEntity() {
+        return bookMapper.toEntity(bookDto);
+    }
+
+    @Benchmark
+    public BookResponseDto modelMapperBookToResponseDto() {
+        return modelMapper.map(book, BookResponseDto.class);
+    }
+
+    @Benchmark
+    public BookResponseDto mapStructBookToResponseDto() {
+        return authorMapper.toBookResponseDto(book);
+    }
+}
@@ -0,0 +1,107 @@
+package com.vision.api.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+
+/**
+ * Cost of encoding a {@code GET /api/v1/books} sized list as JSON, CBOR and Smile,
+ * with and without gzip. Payload sizes of each encoding are printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int BOOKS_PER_AUTHOR = 10;
+
+    @Param({ "10000" })
+    private int items;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    private List<BookDto> books;
+
+    @Setup
+    public void setUp() throws IOException {
+        books = new ArrayList<>(items);
+        AuthorDto author = null;
+        for (int i = 0; i < items; i++) {
+            if (i % BOOKS_PER_AUTHOR == 0) {
+                long authorId = i / BOOKS_PER_AUTHOR + 1;
+                author = AuthorDto.builder().id(authorId).firstName("First" + authorId).lastName("Last" + authorId)
+                        .email("author" + authorId + "@vision.api").build();
+            }
+            books.add(BookDto.builder().id(i + 1L).title("Title " + i).description("Description of book " + i)
+                    .genre(i % 2 == 0 ? "Sci-Fi" : "Terror").price(new BigDecimal("9.95")).author(author).build());
+        }
+
+        System.out.printf("%n%d books: json %d bytes (gzip %d), cbor %d bytes (gzip %d), smile %d bytes (gzip %d)%n",
+                items, json().length, jsonGzip().length, cbor().length, cborGzip().length, smile().length, smileGzip().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return json.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cbor.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return smile.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(json);
+    }
+
+    @Benchmark
+    public byte[] cborGzip() throws IOException {
+        return gzip(cbor);
+    }
+
+    @Benchmark
+    public byte[] smileGzip() throws IOException {
+        return gzip(smile);
+    }
+
+    private byte[] gzip(ObjectMapper mapper) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, books);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,49 @@
+package com.vision.api.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vision.api.dto.AuthorResponseDto;
+import com.vision.api.dto.BookDto;
+
+/**
+ * Service layer read paths. {@code get}, {@code getAllBooksByAutherId} and
+ * {@code getBooksByAuthorId} should stay flat as {@code books} grows;
+ * {@code list} is expected to scale with the table. {@code -p readModel=false,true}
+ * compares the database with the read model.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class ServiceBenchmark {
+
+    @Benchmark
+    public BookDto bookServiceGet(CatalogueState state) {
+        return state.bookService.get(state.bookId);
+    }
+
+    @Benchmark
+    public List<BookDto> bookServiceList(CatalogueState state) {
+        return state.bookService.list();
+    }
+
+    @Benchmark
+    public List<BookDto> bookServiceGetAllBooksByAutherId(CatalogueState state) {
+        return state.bookService.getAllBooksByAutherId(state.authorId);
+    }
+
+    @Benchmark
+    public AuthorResponseDto authorServiceGetBooksByAuthorId(CatalogueState state) {
+        return state.authorService.getBooksByAuthorId(state.authorId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.vision.api.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Counts the statements the application executes, i.e. its database round trips
+ * (batches count once). Registered on the benchmark context, it wraps the
+ * {@link DataSource} so JPA and JDBC statements are both seen.
+ */
+final class StatementCounter implements BeanPostProcessor {
+
+    static final AtomicLong STATEMENTS = new AtomicLong();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return proxy(DataSource.class, bean, (target, result) -> result instanceof Connection
+                    ? proxy(Connection.class, result, (connection, statement) -> statement instanceof Statement
+                            ? proxy(statementType(statement), statement, null)
+                            : statement)
+                    : result);
+        }
+        return bean;
+    }
+
+    private static Class<?> statementType(Object statement) {
+        for (Class<?> type : new Class<?>[] { java.sql.CallableStatement.class, java.sql.PreparedStatement.class }) {
+            if (type.isInstance(statement)) {
+                return type;
+            }
+        }
+        return Statement.class;
+    }
+
+    private interface ResultWrapper {
+        Object wrap(Object target, Object result);
+    }
+
+    // counts execute* calls when wrapper is null, otherwise wraps what the call returns
+    private static Object proxy(Class<?> type, Object target, ResultWrapper wrapper) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("unwrap".equals(method.getName()) || "isWrapperFor".equals(method.getName())) {
+                return method.invoke(target, args);
+            }
+            if (wrapper == null && method.getName().startsWith("execute")) {
+                STATEMENTS.incrementAndGet();
+            }
+            try {
+                Object result = method.invoke(target, args);
+                return wrapper == null ? result : wrapper.wrap(target, result);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+}
@@ -0,0 +1,96 @@
+package com.vision.api.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+
+/**
+ * Service layer write paths. Besides latency, prints the statements (database round
+ * trips) each write costs, counted by {@link StatementCounter}; run with
+ * {@code -p books=1000}, the catalogue size does not matter here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class WriteBenchmark {
+
+    private static final long CLIENT_IDS = 100_000_000L;
+
+    @State(Scope.Thread)
+    public static class Writes {
+
+        long sequence;
+        long writes;
+        long statementsAtStart;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            writes = 0;
+            statementsAtStart = StatementCounter.STATEMENTS.get();
+        }
+
+        @TearDown(Level.Iteration)
+        public void report() {
+            long statements = StatementCounter.STATEMENTS.get() - statementsAtStart;
+            System.out.printf("%n  statements per write: %.2f%n", (double) statements / Math.max(1, writes));
+        }
+
+        AuthorDto author(Long id) {
+            long n = ++sequence;
+            writes++;
+            return AuthorDto.builder().id(id).firstName("Write" + n).lastName("Bench")
+                    .email("write" + n + "." + System.nanoTime() + "@bench.io").build();
+        }
+
+        BookDto book(Long id, long authorId) {
+            long n = ++sequence;
+            writes++;
+            return BookDto.builder().id(id).title("Written " + n).genre("Genre" + n % 20)
+                    .price(BigDecimal.valueOf(5 + n % 50))
+                    .author(AuthorDto.builder().id(authorId).build()).build();
+        }
+    }
+
+    @Benchmark
+    public Long authorServiceCreate(CatalogueState state, Writes writes) {
+        return state.authorService.create(writes.author(null));
+    }
+
+    // client supplied ids, from far above the seeded ones
+    @Benchmark
+    public Long authorServiceCreateWithId(CatalogueState state, Writes writes) {
+        return state.authorService.create(writes.author(CLIENT_IDS + writes.sequence + 1));
+    }
+
+    @Benchmark
+    public Long authorServiceUpdate(CatalogueState state, Writes writes) {
+        return state.authorService.update(writes.author(state.authorId));
+    }
+
+    @Benchmark
+    public Long bookServiceCreate(CatalogueState state, Writes writes) {
+        return state.bookService.create(writes.book(null, state.authorId));
+    }
+
+    @Benchmark
+    public Long bookServiceUpdate(CatalogueState state, Writes writes) {
+        return state.bookService.update(writes.book(CatalogueState.FIRST_ID, state.authorId));
+    }
+}
@@ -0,0 +1,35 @@
+// k6 load test for comparing execution modes, e.g.
+//   k6 run -e BASE_URL=http://localhost:9095 -e VUS=5000 loadtest/books.js
+// Run it once against the default Tomcat pool and once with
+// --spring.threads.virtual.enabled=true (Java 21+), then compare
+// http_req_duration percentiles, http_req_failed and iterations/s.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:9095';
+const VUS = parseInt(__ENV.VUS || '5000');
+
+export const options = {
+    scenarios: {
+        catalogue: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: '2m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const authorId = 1 + Math.floor(Math.random() * 3);
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/api/v1/books/${1 + Math.floor(Math.random() * 8)}`],
+        ['GET', `${BASE_URL}/api/v1/books/authors/${authorId}`],
+        ['GET', `${BASE_URL}/api/v1/books?limit=50`],
+    ]);
+    responses.forEach(response => check(response, { 'status is 200': r => r.status === 200 }));
+}
@@ -0,0 +1,55 @@
+package com.vision.api.cli;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.vision.api.dto.ImportResultDto;
+import com.vision.api.service.BookImportService;
+import com.vision.api.service.FeedFormat;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports a local feed file at startup, e.g.
+ * {@code java -jar app.jar --spring.main.web-application-type=none --import.file=feed.csv}.
+ * The job id defaults to the file name, running the same command again resumes the job.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "import.file")
+public class BookImportRunner implements ApplicationRunner {
+
+    private final BookImportService bookImportService;
+    private final String file;
+    private final String jobId;
+
+    @Autowired
+    public BookImportRunner(BookImportService bookImportService,
+                            @Value("${import.file}") String file,
+                            @Value("${import.job-id:}") String jobId) {
+        this.bookImportService = bookImportService;
+        this.file = file;
+        this.jobId = jobId;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path path = Paths.get(file);
+        String job = jobId.isEmpty() ? path.getFileName().toString() : jobId;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(path))) {
+            ImportResultDto result = bookImportService.importBooks(job, input, FeedFormat.fromFileName(file));
+            log.info("Imported {} books from {} ({} rejected, {} rows/s)",
+                    result.getImported(), path, result.getRejected(), result.getRowsPerSecond());
+        }
+    }
+}
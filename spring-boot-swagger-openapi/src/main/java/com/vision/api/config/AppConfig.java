@@ -1,8 +1,6 @@
 package com.vision.api.config;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,9 +9,4 @@ import org.springframework.context.annotation.Configuration;
 @ComponentScan(basePackages = { "com.vision.api" })
 public class AppConfig {
 
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
-    }
-
 }
@@ -0,0 +1,23 @@
+package com.vision.api.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Enables {@link io.micrometer.core.annotation.Timed} on service beans. Endpoint timers
+ * ({@code http.server.requests}), repository timers ({@code spring.data.repository.invocations}),
+ * Hibernate statistics and HikariCP gauges come from Actuator auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "vision.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.vision.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vision.api.filter.AdaptiveConcurrencyLimit;
+import com.vision.api.filter.RateLimitFilter;
+import com.vision.api.filter.TokenBuckets;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers {@link RateLimitFilter} on {@code /api/*} ahead of every other filter but
+ * the request log, so refused requests cost neither a database connection nor any
+ * deserialisation.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper,
+                                                                   MeterRegistry meterRegistry) {
+        RateLimitFilter filter = new RateLimitFilter(
+                new TokenBuckets(properties.getTokensPerSecond(), properties.getBurst(), properties.getMaxClients()),
+                new AdaptiveConcurrencyLimit(properties.getInitialConcurrency(), properties.getMinConcurrency(),
+                        properties.getMaxConcurrency()),
+                properties.getApiKeys(), properties.getCosts(), objectMapper, meterRegistry);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
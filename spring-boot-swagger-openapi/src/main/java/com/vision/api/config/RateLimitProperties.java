@@ -0,0 +1,40 @@
+package com.vision.api.config;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // sustained request cost per client and second, and how much of it may come at once
+    private double tokensPerSecond = 50;
+
+    private int burst = 100;
+
+    // keys that get a bucket of their own; any other X-API-Key is ignored, so rotating
+    // made-up keys cannot multiply the rate of one address
+    private Set<String> apiKeys = new HashSet<>();
+
+    // idle clients are dropped past this many buckets
+    private int maxClients = 100_000;
+
+    // token cost per endpoint, keyed by "METHOD /ant/path" or "METHOD /ant/path?param", anything else costs 1
+    private Map<String, Integer> costs = new LinkedHashMap<>();
+
+    private int initialConcurrency = 20;
+
+    private int minConcurrency = 10;
+
+    private int maxConcurrency = 200;
+}
@@ -0,0 +1,58 @@
+package com.vision.api.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Flags N+1 selects at runtime. Between {@link #begin()} and {@link #end()} (one HTTP
+ * request) it counts executions per statement shape, the prepared SQL with its
+ * placeholders, and logs the first execution past the threshold with the stack that
+ * issued it, once per shape and request.
+ */
+@Slf4j
+public class RepeatedQueryListener implements QueryExecutionListener {
+
+    private final int threshold;
+    private final Counter repeated;
+    private final ThreadLocal<Map<String, Integer>> counts = new ThreadLocal<>();
+
+    public RepeatedQueryListener(int threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.repeated = meterRegistry.counter("vision.sql.repeated");
+    }
+
+    public void begin() {
+        counts.set(new HashMap<>());
+    }
+
+    public void end() {
+        counts.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Map<String, Integer> shapes = counts.get();
+        if (shapes == null) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            if (shapes.merge(query.getQuery(), 1, Integer::sum) == threshold + 1) {
+                repeated.increment();
+                log.warn("Statement executed more than {} times in one request, likely N+1: {}", threshold,
+                        query.getQuery(), new Throwable("Issued from"));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.vision.api.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the auto-configured pool with a {@link ReplicaRoutingDataSource}, enabled with
+ * {@code datasource-routing.enabled=true}. The primary pool is still configured under
+ * {@code spring.datasource}, each replica gets its own pool from
+ * {@code datasource-routing.replicas}; all of them report {@code hikaricp_*} metrics
+ * tagged with their pool name.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(name = "datasource-routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaRoutingProperties properties,
+                                               Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        // resolved when a pool starts, the registry's binders need this data source first
+        MetricsTrackerFactory metrics = (poolName, poolStats) ->
+                new MicrometerMetricsTrackerFactory(meterRegistry.getObject()).create(poolName, poolStats);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        if (primary.getTransactionIsolation() == null) {
+            primary.setTransactionIsolation(properties.getTransactionIsolation());
+        }
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            HikariConfig replica = properties.getReplicas().get(i);
+            if (replica.getPoolName() == null) {
+                replica.setPoolName("replica-" + i);
+            }
+            if (replica.getTransactionIsolation() == null) {
+                replica.setTransactionIsolation(properties.getTransactionIsolation());
+            }
+            // a replica that is down at startup is failed over like one that goes down later
+            replica.setInitializationFailTimeout(-1);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(metrics);
+            // started on the first connection, like the primary
+            HikariDataSource pool = new HikariDataSource();
+            replica.copyStateTo(pool);
+            replicas.add(pool);
+        }
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replicas, properties.getRetryInterval());
+        dataSource.setDefaultAutoCommit(primary.isAutoCommit());
+        dataSource.setDefaultTransactionIsolationName(primary.getTransactionIsolation());
+        return dataSource;
+    }
+}
@@ -0,0 +1,100 @@
+package com.vision.api.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the connections of read-only transactions to the replicas, round robin, and
+ * every other connection to the primary. The physical connection is only fetched for
+ * the first statement, since a transaction is marked read-only after it has begun.
+ * A replica that fails to hand out a connection is left out for the retry interval,
+ * its reads go to the next replica or else to the primary.
+ * <p>
+ * Set the default auto-commit and isolation of the pools, otherwise they are read from
+ * a connection of the primary, which also happens whenever a transaction asks for them.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long retryNanos;
+    private final AtomicLongArray downUntil;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, Duration retryInterval) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas);
+        this.retryNanos = retryInterval.toNanos();
+        this.downUntil = new AtomicLongArray(replicas.size());
+        long now = System.nanoTime();
+        for (int i = 0; i < replicas.size(); i++) {
+            downUntil.set(i, now);
+        }
+        setTargetDataSource(new Router());
+    }
+
+    private Connection route() throws SQLException {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = (start + i) % replicas.size();
+            long now = System.nanoTime();
+            if (downUntil.get(replica) - now > 0) {
+                continue;
+            }
+            try {
+                return replicas.get(replica).getConnection();
+            } catch (SQLException e) {
+                downUntil.set(replica, now + retryNanos);
+                log.warn("Replica {} unavailable, left out for {}: {}", replica, Duration.ofNanos(retryNanos), e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            closeQuietly(replica);
+        }
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.vision.api.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.zaxxer.hikari.HikariConfig;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("datasource-routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled;
+
+    // one Hikari pool per replica: jdbc-url, username, password and the spring.datasource.hikari settings
+    private List<HikariConfig> replicas = new ArrayList<>();
+
+    // applied to every pool that sets none, so no connection is needed to find it out (InnoDB default)
+    private String transactionIsolation = "TRANSACTION_REPEATABLE_READ";
+
+    // how long a replica that failed to connect is left out before it is tried again
+    private Duration retryInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,27 @@
+package com.vision.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.vision.api.filter.RequestLogFilter;
+
+/**
+ * Registers {@link RequestLogFilter} first of all filters, so even requests refused by
+ * the rate limiter carry a correlation id.
+ */
+@Configuration
+@EnableConfigurationProperties(RequestLogProperties.class)
+@ConditionalOnProperty(name = "request-log.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLogConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestLogFilter> requestLogFilter(RequestLogProperties properties) {
+        FilterRegistrationBean<RequestLogFilter> registration = new FilterRegistrationBean<>(new RequestLogFilter(properties.getSampling()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
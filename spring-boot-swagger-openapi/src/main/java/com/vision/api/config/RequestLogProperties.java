@@ -0,0 +1,20 @@
+package com.vision.api.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("request-log")
+public class RequestLogProperties {
+
+    private boolean enabled = true;
+
+    // share of requests logged per endpoint, keyed by "METHOD /ant/path", anything else is always logged
+    private Map<String, Double> sampling = new LinkedHashMap<>();
+}
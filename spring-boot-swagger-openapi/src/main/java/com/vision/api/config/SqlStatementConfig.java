@@ -0,0 +1,77 @@
+package com.vision.api.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.vision.api.filter.QueryScopeFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Routes every statement through datasource-proxy. Statements are counted per thread
+ * in {@link net.ttddyy.dsproxy.QueryCountHolder}, which tests use to bound the queries
+ * of a service call, and {@link RepeatedQueryListener} warns about N+1 selects within
+ * a request ({@code sql.repeated-query-threshold}, default 10).
+ */
+@Configuration
+public class SqlStatementConfig {
+
+    @Bean
+    public RepeatedQueryListener repeatedQueryListener(@Value("${sql.repeated-query-threshold:10}") int threshold,
+                                                       MeterRegistry meterRegistry) {
+        return new RepeatedQueryListener(threshold, meterRegistry);
+    }
+
+    // static and lazy on the listener, so post-processing the DataSource does not initialise other beans early
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<RepeatedQueryListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .countQuery()
+                        .listener(new LazyListener(listener))
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryScopeFilter> queryScopeFilter(RepeatedQueryListener listener) {
+        return new FilterRegistrationBean<>(new QueryScopeFilter(listener));
+    }
+
+    private static final class LazyListener implements QueryExecutionListener {
+        private final ObjectProvider<RepeatedQueryListener> listener;
+
+        private LazyListener(ObjectProvider<RepeatedQueryListener> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            listener.getObject().afterQuery(execInfo, queryInfoList);
+        }
+    }
+}
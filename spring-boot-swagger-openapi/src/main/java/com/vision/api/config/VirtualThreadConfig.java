@@ -0,0 +1,104 @@
+package com.vision.api.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in execution mode that serves requests on virtual threads instead of the
+ * bounded Tomcat pool, enabled with {@code spring.threads.virtual.enabled=true}
+ * (the Spring Boot 3.2 property name). A request blocked on JDBC then parks a cheap
+ * virtual thread, concurrency towards MySQL stays capped by the Hikari pool.
+ * The build targets Java 11, so the executor is looked up at runtime and startup
+ * fails if the JVM is older than Java 21. It also fails on MySQL with a Connector/J
+ * older than {@value #MIN_MYSQL_DRIVER}: those drivers block inside synchronized
+ * blocks, which pins the carrier thread of every virtual thread waiting on a query.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    static final String MIN_MYSQL_DRIVER = "8.0.33";
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        checkMysqlDriver(datasourceUrl, mysqlDriverVersion());
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Serving requests on virtual threads");
+        return executor;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    // streaming responses (StreamingResponseBody) run on the same executor
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreadExecutor()));
+    }
+
+    static void checkMysqlDriver(String datasourceUrl, String driverVersion) {
+        if (datasourceUrl == null || !datasourceUrl.startsWith("jdbc:mysql:")) {
+            return;
+        }
+        if (driverVersion == null || compareVersions(driverVersion, MIN_MYSQL_DRIVER) < 0) {
+            throw new IllegalStateException("Virtual threads need MySQL Connector/J " + MIN_MYSQL_DRIVER
+                    + " or newer (com.mysql:mysql-connector-j), found " + driverVersion);
+        }
+    }
+
+    // read at runtime, the constant would otherwise be inlined from the driver the build compiled against
+    private static String mysqlDriverVersion() {
+        try {
+            return (String) Class.forName("com.mysql.cj.Constants").getField("CJ_VERSION").get(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // numeric parts compared one by one, "8.0.33" is newer than "8.0.9"
+    static int compareVersions(String version, String other) {
+        String[] parts = version.split("[.-]");
+        String[] otherParts = other.split("[.-]");
+        for (int i = 0; i < Math.max(parts.length, otherParts.length); i++) {
+            int part = i < parts.length ? numberOf(parts[i]) : 0;
+            int otherPart = i < otherParts.length ? numberOf(otherParts[i]) : 0;
+            if (part != otherPart) {
+                return Integer.compare(part, otherPart);
+            }
+        }
+        return 0;
+    }
+
+    private static int numberOf(String part) {
+        String digits = part.replaceAll("\\D.*", "");
+        return digits.isEmpty() ? 0 : Integer.parseInt(digits);
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads need Java 21 or newer, running on Java " + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the virtual thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.vision.api.controller;
+
+import java.net.URI;
+import java.util.Arrays;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Opt-in asynchronous writes. A mutation sent with {@code Prefer: respond-async}
+ * (RFC 7240) goes to the write-behind queue and is answered with 202 and the
+ * location of its operation status.
+ */
+final class AsyncWrites {
+
+    static final String PREFER = "Prefer";
+    static final String RESPOND_ASYNC = "respond-async";
+
+    private AsyncWrites() {
+    }
+
+    static boolean requested(String prefer) {
+        return prefer != null && Arrays.stream(prefer.split(","))
+                .map(String::trim)
+                .anyMatch(RESPOND_ASYNC::equalsIgnoreCase);
+    }
+
+    static ResponseEntity<Void> accepted(String operationId) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/v1/operations/{id}")
+                .buildAndExpand(operationId).toUri();
+        return ResponseEntity.accepted().location(location).header("Preference-Applied", RESPOND_ASYNC).build();
+    }
+}
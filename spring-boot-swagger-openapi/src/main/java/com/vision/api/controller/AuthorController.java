@@ -1,24 +1,35 @@
 package com.vision.api.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.vision.api.config.BinaryFormatConfig;
 import com.vision.api.dto.AuthorDto;
-import com.vision.api.dto.AuthorResponseDto;
+import com.vision.api.dto.AuthorMultiGetDto;
+import com.vision.api.dto.BatchItemResultDto;
 import com.vision.api.service.AuthorService;
+import com.vision.api.service.BatchService;
+import com.vision.api.service.BookFields;
+import com.vision.api.service.Versioned;
+import com.vision.api.service.WriteBehindService;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api")
@@ -26,23 +37,34 @@ import java.net.URI;
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final BatchService batchService;
+    private final WriteBehindService writeBehindService;
 
     @Autowired
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService, BatchService batchService, WriteBehindService writeBehindService) {
         this.authorService = authorService;
+        this.batchService = batchService;
+        this.writeBehindService = writeBehindService;
     }
 
     @Operation(summary = "Creates a new author")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Created the author"),
+            @ApiResponse(responseCode = "202", description = "Queued with Prefer: respond-async, Location points at the operation status"),
+            @ApiResponse(responseCode = "503", description = "Write-behind queue full, retry after Retry-After seconds",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Bad request",
                     content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal Server Error",
                     content = @Content) })
     @PostMapping(path = "/v1/authors", consumes = {"application/json"})
-    public ResponseEntity<Void> create(@Valid @RequestBody AuthorDto authorData) {
+    public ResponseEntity<Void> create(@Valid @RequestBody AuthorDto authorData,
+                                       @RequestHeader(name = AsyncWrites.PREFER, required = false) String prefer) {
 
-        log.info("POST /api/v1/authors : "+authorData);
+        log.debug("POST /api/v1/authors : {}", authorData);
+        if (AsyncWrites.requested(prefer)) {
+            return AsyncWrites.accepted(writeBehindService.submit(() -> authorService.create(authorData)));
+        }
         Long adId = authorService.create(authorData);
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
@@ -51,6 +73,22 @@ public class AuthorController {
         return ResponseEntity.created(location).build();
     }
 
+    @Operation(summary = "Creates many authors at once, returns one result per author")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Processed the authors",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = List.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error",
+                    content = @Content) })
+    @PostMapping(path = "/v1/authors:batch", consumes = {"application/json"}, produces = {"application/json"})
+    public ResponseEntity<List<BatchItemResultDto>> createAll(@RequestBody List<AuthorDto> authorDtos) {
+
+        log.debug("POST /api/v1/authors:batch : {} authors", authorDtos.size());
+        return ResponseEntity.ok(batchService.createAuthors(authorDtos));
+    }
+
     @Operation(summary = "Removes a requested author")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "No Content"),
@@ -61,23 +99,49 @@ public class AuthorController {
     @DeleteMapping(path = "/v1/authors/{id}", produces = {"application/json"})
     public ResponseEntity<Void> delete(@PathVariable("id") @Min(1) Long authorId) {
 
-        log.info("DELETE /api/v1/authors/"+authorId);
+        log.debug("DELETE /api/v1/authors/{}", authorId);
         authorService.delete(authorId);
         return ResponseEntity.noContent().build();
     }
-    
+
+    @Operation(summary = "Removes many authors and their books at once, unknown ids are skipped")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "No Content"),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error",
+                    content = @Content) })
+    @DeleteMapping(path = "/v1/authors", consumes = {"application/json"})
+    public ResponseEntity<Void> deleteAll(@RequestBody List<Long> authorIds) {
+
+        log.debug("DELETE /api/v1/authors : {} authors", authorIds.size());
+        authorService.deleteAll(authorIds);
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Update an existing author")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Updated the author"),
+            @ApiResponse(responseCode = "202", description = "Queued with Prefer: respond-async, Location points at the operation status"),
+            @ApiResponse(responseCode = "503", description = "Write-behind queue full, retry after Retry-After seconds",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Bad request",
                     content = @Content),
+            @ApiResponse(responseCode = "412", description = "Author changed since the ETag in If-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal Server Error",
                     content = @Content) })
     @PutMapping(path = "/v1/authors", consumes = {"application/json"})
-    public ResponseEntity<Void> update(@Valid @RequestBody AuthorDto authorData){
-    	 log.info("PUT /api/v1/authors : "+authorData);
+    public ResponseEntity<Void> update(@Valid @RequestBody AuthorDto authorData,
+                                       @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       @RequestHeader(name = AsyncWrites.PREFER, required = false) String prefer){
+    	 log.debug("PUT /api/v1/authors : {}", authorData);
     	 
-    	 Long adId = authorService.update(authorData);
+    	 Long expectedVersion = ETags.ifMatchVersion(ifMatch);
+    	 if (AsyncWrites.requested(prefer)) {
+    	     return AsyncWrites.accepted(writeBehindService.submit(() -> authorService.update(authorData, expectedVersion)));
+    	 }
+    	 Long adId = authorService.update(authorData, expectedVersion);
     	 URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
                  .buildAndExpand(adId).toUri();
 
@@ -87,31 +151,63 @@ public class AuthorController {
     @Operation(summary = "Get a requested author")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "No Content"),
+            @ApiResponse(responseCode = "304", description = "Not Modified"),
             @ApiResponse(responseCode = "400", description = "Bad request"),
             @ApiResponse(responseCode = "404", description = "Not Found"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error",
                     content = @Content) })
-    @GetMapping(path = "/v1/authors/{id}", produces = {"application/json"})
-    public ResponseEntity<AuthorDto> getAuthorById(@PathVariable("id")@Min(1) Long authorId){
+    @GetMapping(path = "/v1/authors/{id}", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE})
+    public ResponseEntity<AuthorDto> getAuthorById(@PathVariable("id")@Min(1) Long authorId, WebRequest request){
     	
-    	 log.info("GET /api/v1/authors/"+authorId);
-    	 AuthorDto dto = authorService.getAuthorById(authorId);
-    	 return new ResponseEntity<>(dto, HttpStatus.OK);
+    	 log.debug("GET /api/v1/authors/{}", authorId);
+    	 if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+    	         && request.checkNotModified(ETags.of(authorService.getVersion(authorId), request))) {
+    	     return ETags.notModified();
+    	 }
+    	 Versioned<AuthorDto> author = authorService.getVersionedAuthorById(authorId);
+    	 return ResponseEntity.ok().eTag(ETags.of(author.getVersion(), request)).varyBy(HttpHeaders.ACCEPT).body(author.getValue());
+    }
+    
+    @Operation(summary = "Get many authors at once, in the order of the ids, with the ids not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the authors"),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error",
+                    content = @Content) })
+    @GetMapping(path = "/v1/authors", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE})
+    public ResponseEntity<AuthorMultiGetDto> getAuthorsByIds(@Parameter(description = "Comma separated author ids, e.g. 1,2,3")
+                                                             @RequestParam(name = "ids") List<Long> authorIds) {
+
+    	 log.debug("GET /api/v1/authors?ids={}", authorIds);
+    	 return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(authorService.getAll(authorIds));
     }
     
     @Operation(summary = "Get books for requested author")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "No Content"),
+            @ApiResponse(responseCode = "304", description = "Not Modified"),
             @ApiResponse(responseCode = "400", description = "Bad request"),
             @ApiResponse(responseCode = "404", description = "Not Found"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error",
                     content = @Content) })
-    @GetMapping(path = "/v1/books/authors/{id}", produces = {"application/json"})
-    public ResponseEntity<AuthorResponseDto> getAllBooksByAuthorId(@PathVariable("id") @Min(1) Long authorId){
+    @GetMapping(path = "/v1/books/authors/{id}", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE})
+    public ResponseEntity<?> getAllBooksByAuthorId(@PathVariable("id") @Min(1) Long authorId,
+                                                   @Parameter(description = "Comma separated book fields to return, e.g. id,title")
+                                                   @RequestParam(name = "fields", required = false) String fields,
+                                                   WebRequest request){
     	
-    	 log.info("GET /api/v1/books/authors/"+authorId);
-    	 AuthorResponseDto dto = this.authorService.getBooksByAuthorId(authorId);
-    	 return new ResponseEntity<>(dto, HttpStatus.OK);
+    	 log.debug("GET /api/v1/books/authors/{}?fields={}", authorId, fields);
+    	 BookFields bookFields = fields == null ? null : BookFields.parse(fields);
+    	 // only a conditional request pays for the version query, a match then skips loading the books
+    	 if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+    	         && request.checkNotModified(ETags.of(authorService.getBooksVersion(authorId), request))) {
+    	     return ETags.notModified();
+    	 }
+    	 // ETag and body from the same read, the ETag replaces the one set above
+    	 Versioned<?> books = bookFields != null ? authorService.getVersionedBooksByAuthorId(authorId, bookFields)
+    	         : authorService.getVersionedBooksByAuthorId(authorId);
+    	 return ResponseEntity.ok().eTag(ETags.of(books.getVersion(), request)).varyBy(HttpHeaders.ACCEPT).body(books.getValue());
     }
     
     
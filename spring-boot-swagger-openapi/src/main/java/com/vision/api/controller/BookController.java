@@ -6,13 +6,33 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vision.api.config.BinaryFormatConfig;
+import com.vision.api.dto.BatchItemResultDto;
 import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookPageDto;
+import com.vision.api.dto.BookSearchResultDto;
+import com.vision.api.exception.BadRequestException;
+import com.vision.api.service.BatchService;
+import com.vision.api.service.BookFields;
+import com.vision.api.service.BookSearchCriteria;
+import com.vision.api.service.BookSearchService;
 import com.vision.api.service.BookService;
+import com.vision.api.service.Versioned;
+import com.vision.api.service.WriteBehindService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
 import javax.validation.Valid;
@@ -23,24 +43,116 @@ import javax.validation.constraints.Min;
 @Slf4j
 public class BookController {
 
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final BookService bookService;
+    private final BatchService batchService;
+    private final BookSearchService bookSearchService;
+    private final WriteBehindService writeBehindService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BatchService batchService, BookSearchService bookSearchService,
+                          WriteBehindService writeBehindService, ObjectMapper objectMapper) {
         this.bookService = bookService;
+        this.batchService = batchService;
+        this.bookSearchService = bookSearchService;
+        this.writeBehindService = writeBehindService;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Gets the list of available books")
+    @Operation(summary = "Gets the list of available books, or with ids only those books and the ids not found")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found the books",
                     content = { @Content(mediaType = "application/json",
                             schema = @Schema(implementation = List.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = @Content),
     })
-    @GetMapping(path = "/v1/books", produces = {"application/json"})
-    public ResponseEntity<List<BookDto>> list() {
+    @GetMapping(path = "/v1/books", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE})
+    public ResponseEntity<?> list(@Parameter(description = "Comma separated fields to return, e.g. id,title,author.lastName")
+                                  @RequestParam(name = "fields", required = false) String fields,
+                                  @Parameter(description = "Comma separated book ids, e.g. 1,2,3; answers the books found, in that order, and the missing ids")
+                                  @RequestParam(name = "ids", required = false) List<Long> ids) {
     	
-        log.info("GET /api/v1/books");
-        return ResponseEntity.ok(bookService.list());
+        log.debug("GET /api/v1/books?fields={}&ids={}", fields, ids);
+        if (ids != null) {
+            if (fields != null) {
+                throw new BadRequestException("fields cannot be combined with ids");
+            }
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(bookService.getAll(ids));
+        }
+        if (fields != null) {
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(bookService.list(BookFields.parse(fields)));
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(bookService.list());
+    }
+
+    @Operation(summary = "Gets a page of books ordered by id, starting after the given id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the page of books",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookPageDto.class)) }),
+    })
+    @GetMapping(path = "/v1/books", params = "limit", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE})
+    public ResponseEntity<BookPageDto> page(@RequestParam("limit") int limit,
+                                            @RequestParam(name = "after", required = false) Long after) {
+
+        log.debug("GET /api/v1/books?limit={}&after={}", limit, after);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(bookService.page(after, limit));
+    }
+
+    @Operation(summary = "Streams all books as newline delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streaming the books",
+                    content = { @Content(mediaType = APPLICATION_NDJSON,
+                            schema = @Schema(implementation = BookDto.class)) }),
+    })
+    @GetMapping(path = "/v1/books", produces = {APPLICATION_NDJSON})
+    public ResponseEntity<StreamingResponseBody> stream() {
+
+        log.debug("GET /api/v1/books (ndjson)");
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null)) {
+                bookService.stream(book -> {
+                    try {
+                        generator.writeObject(book);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().header("Content-Type", APPLICATION_NDJSON).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+
+    @Operation(summary = "Searches books by text in title and description, genre, price range and author")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the matching books, best match first",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookSearchResultDto.class)) }),
+    })
+    @GetMapping(path = "/v1/books/search", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE})
+    public ResponseEntity<BookSearchResultDto> search(@RequestParam(name = "q", required = false) String text,
+                                                      @RequestParam(name = "genre", required = false) String genre,
+                                                      @RequestParam(name = "minPrice", required = false) BigDecimal minPrice,
+                                                      @RequestParam(name = "maxPrice", required = false) BigDecimal maxPrice,
+                                                      @RequestParam(name = "authorId", required = false) Long authorId,
+                                                      @RequestParam(name = "page", defaultValue = "0") int page,
+                                                      @RequestParam(name = "size", defaultValue = "20") int size) {
+
+        log.debug("GET /api/v1/books/search?q={}&genre={}&minPrice={}&maxPrice={}&authorId={}", text, genre, minPrice, maxPrice, authorId);
+        BookSearchCriteria criteria = BookSearchCriteria.builder()
+                .text(text)
+                .genre(genre)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .authorId(authorId)
+                .build();
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(bookSearchService.search(criteria, page, size));
     }
 
     @Operation(summary = "Get a book by its id")
@@ -48,28 +160,48 @@ public class BookController {
             @ApiResponse(responseCode = "200", description = "Found the book",
                     content = { @Content(mediaType = "application/json",
                             schema = @Schema(implementation = BookDto.class)) }),
+            @ApiResponse(responseCode = "304", description = "Book not modified since the ETag in If-None-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid id supplied",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Book not found",
                     content = @Content) })
-    @GetMapping(path = "/v1/books/{id}", produces = {"application/json"})
-    public ResponseEntity<BookDto> get(@PathVariable("id") @Min(1) Long bookId) {
+    @GetMapping(path = "/v1/books/{id}", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE})
+    public ResponseEntity<?> get(@PathVariable("id") @Min(1) Long bookId,
+                                 @Parameter(description = "Comma separated fields to return, e.g. id,title,author.lastName")
+                                 @RequestParam(name = "fields", required = false) String fields,
+                                 WebRequest request) {
 
-        log.info("GET /api/v1/books/"+bookId);
-        return ResponseEntity.ok(bookService.get(bookId));
+        log.debug("GET /api/v1/books/{}?fields={}", bookId, fields);
+        BookFields bookFields = fields == null ? null : BookFields.parse(fields);
+        // a conditional request is answered 304 from the version alone, the book is neither loaded nor serialised
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ETags.of(bookService.getVersion(bookId), request))) {
+            return ETags.notModified();
+        }
+        // ETag and body from the same read, the ETag replaces the one set above
+        Versioned<?> book = bookFields != null ? bookService.getVersioned(bookId, bookFields) : bookService.getVersioned(bookId);
+        return ResponseEntity.ok().eTag(ETags.of(book.getVersion(), request)).varyBy(HttpHeaders.ACCEPT).body(book.getValue());
     }
 
     @Operation(summary = "Creates a new book")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Created the book"),
+            @ApiResponse(responseCode = "202", description = "Queued with Prefer: respond-async, Location points at the operation status"),
+            @ApiResponse(responseCode = "503", description = "Write-behind queue full, retry after Retry-After seconds",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Bad request",
                     content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal Server Error",
                     content = @Content) })
     @PostMapping(path = "/v1/books", consumes = {"application/json"})
-    public ResponseEntity<Void> create(@Valid @RequestBody BookDto bookDto) {
+    public ResponseEntity<Void> create(@Valid @RequestBody BookDto bookDto,
+                                       @RequestHeader(name = AsyncWrites.PREFER, required = false) String prefer) {
 
-        log.info("POST /api/v1/books : "+bookDto);
+        log.debug("POST /api/v1/books : {}", bookDto);
+        if (AsyncWrites.requested(prefer)) {
+            return AsyncWrites.accepted(writeBehindService.submit(() -> bookService.create(bookDto)));
+        }
         Long bookId = bookService.create(bookDto);
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
@@ -79,18 +211,45 @@ public class BookController {
     }
     
     
+    @Operation(summary = "Creates many books at once, returns one result per book")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Processed the books",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = List.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error",
+                    content = @Content) })
+    @PostMapping(path = "/v1/books:batch", consumes = {"application/json"}, produces = {"application/json"})
+    public ResponseEntity<List<BatchItemResultDto>> createAll(@RequestBody List<BookDto> bookDtos) {
+
+        log.debug("POST /api/v1/books:batch : {} books", bookDtos.size());
+        return ResponseEntity.ok(batchService.createBooks(bookDtos));
+    }
+    
     @Operation(summary = "Update a new book")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Update the book"),
+            @ApiResponse(responseCode = "202", description = "Queued with Prefer: respond-async, Location points at the operation status"),
+            @ApiResponse(responseCode = "503", description = "Write-behind queue full, retry after Retry-After seconds",
+                    content = @Content),
             @ApiResponse(responseCode = "400", description = "Bad request",
                     content = @Content),
+            @ApiResponse(responseCode = "412", description = "Book changed since the ETag in If-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal Server Error",
                     content = @Content) })
     @PutMapping(path = "/v1/books", consumes = {"application/json"})
-    public ResponseEntity<Void> update(@Valid @RequestBody BookDto bookDto) {
+    public ResponseEntity<Void> update(@Valid @RequestBody BookDto bookDto,
+                                       @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                       @RequestHeader(name = AsyncWrites.PREFER, required = false) String prefer) {
 
-        log.info("PUT /api/v1/books : "+bookDto);
-        Long bookId = bookService.update(bookDto);
+        log.debug("PUT /api/v1/books : {}", bookDto);
+        Long expectedVersion = ETags.ifMatchVersion(ifMatch);
+        if (AsyncWrites.requested(prefer)) {
+            return AsyncWrites.accepted(writeBehindService.submit(() -> bookService.update(bookDto, expectedVersion)));
+        }
+        Long bookId = bookService.update(bookDto, expectedVersion);
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
                 .buildAndExpand(bookId).toUri();
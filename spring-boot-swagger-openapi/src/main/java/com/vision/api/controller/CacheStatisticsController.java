@@ -0,0 +1,44 @@
+package com.vision.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.vision.api.dto.CacheStatisticsDto;
+import com.vision.api.service.CacheStatisticsService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    public CacheStatisticsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @Operation(summary = "Gets hit, miss and eviction counters of the entity and query caches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the cache statistics",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = List.class)) }),
+    })
+    @GetMapping(path = "/v1/cache/statistics", produces = {"application/json"})
+    public ResponseEntity<List<CacheStatisticsDto>> list() {
+
+        log.debug("GET /api/v1/cache/statistics");
+        return ResponseEntity.ok(cacheStatisticsService.list());
+    }
+}
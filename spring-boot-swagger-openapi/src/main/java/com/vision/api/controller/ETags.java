@@ -0,0 +1,97 @@
+package com.vision.api.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import com.vision.api.config.BinaryFormatConfig;
+import com.vision.api.exception.PreconditionFailedException;
+
+/**
+ * Version based entity tags. GET handlers with If-None-Match compare them through
+ * {@link org.springframework.web.context.request.WebRequest#checkNotModified(String)}
+ * before loading the resource, and otherwise send the version read with the body;
+ * PUT handlers turn If-Match back into a version.
+ * <p>
+ * The same version is sent as JSON, CBOR or Smile depending on Accept, so the tag
+ * names the representation: JSON keeps the bare version, the binary formats get a
+ * suffix, and every such response carries {@code Vary: Accept}.
+ */
+final class ETags {
+
+    private static final String CBOR_SUFFIX = "-cbor";
+    private static final String SMILE_SUFFIX = "-smile";
+    private static final MediaType SMILE = MediaType.valueOf(BinaryFormatConfig.APPLICATION_SMILE);
+
+    private ETags() {
+    }
+
+    static String of(Object version) {
+        return "\"" + version + "\"";
+    }
+
+    // tag of the representation the Accept header of the request selects
+    static String of(Object version, WebRequest request) {
+        return of(version + suffix(request.getHeader(HttpHeaders.ACCEPT)));
+    }
+
+    // what a negotiated GET answers once checkNotModified matched, which already set the status and ETag
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    // mirrors the produces order of the handlers: JSON, CBOR, then Smile
+    private static String suffix(String accept) {
+        if (accept == null) {
+            return "";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return CBOR_SUFFIX;
+            }
+            if (type.isCompatibleWith(SMILE)) {
+                return SMILE_SUFFIX;
+            }
+        }
+        return "";
+    }
+
+    // null when the header is missing or "*"
+    static Long ifMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        // a tag taken from a CBOR or Smile GET names the same version
+        if (tag.endsWith(CBOR_SUFFIX) || tag.endsWith(SMILE_SUFFIX)) {
+            tag = tag.substring(0, tag.lastIndexOf('-'));
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current version");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.vision.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.vision.api.dto.BookDto;
+import com.vision.api.service.BookExportService;
+import com.vision.api.service.FeedFormat;
+
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class ExportController {
+
+    public static final String TEXT_CSV = "text/csv";
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final BookExportService bookExportService;
+
+    @Autowired
+    public ExportController(BookExportService bookExportService) {
+        this.bookExportService = bookExportService;
+    }
+
+    @Operation(summary = "Exports the catalogue as NDJSON or CSV, optionally filtered by genre and author")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streaming the books",
+                    content = { @Content(mediaType = BookController.APPLICATION_NDJSON,
+                            schema = @Schema(implementation = BookDto.class)),
+                            @Content(mediaType = TEXT_CSV) }),
+    })
+    @GetMapping(path = "/v1/export/books", produces = {BookController.APPLICATION_NDJSON, TEXT_CSV})
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                                                             @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                             @RequestParam(name = "genre", required = false) String genre,
+                                                             @RequestParam(name = "authorId", required = false) Long authorId) {
+
+        log.debug("GET /api/v1/export/books?genre={}&authorId={}", genre, authorId);
+        FeedFormat format = FeedFormat.fromAccept(accept);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE)) {
+                    bookExportService.export(format, genre, authorId, compressed);
+                }
+            } else {
+                bookExportService.export(format, genre, authorId, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format == FeedFormat.CSV ? TEXT_CSV : BookController.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,57 @@
+package com.vision.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.vision.api.dto.ImportResultDto;
+import com.vision.api.service.BookImportService;
+import com.vision.api.service.FeedFormat;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class ImportController {
+
+    private final BookImportService bookImportService;
+
+    @Autowired
+    public ImportController(BookImportService bookImportService) {
+        this.bookImportService = bookImportService;
+    }
+
+    @Operation(summary = "Imports a CSV or NDJSON book feed, resumable by job id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Imported the feed",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImportResultDto.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error",
+                    content = @Content) })
+    @PostMapping(path = "/v1/import/books", consumes = {"text/csv", BookController.APPLICATION_NDJSON},
+            produces = {"application/json"})
+    public ResponseEntity<ImportResultDto> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                       @RequestParam(name = "jobId", required = false) String jobId,
+                                                       @RequestParam(name = "chunkSize", required = false) Integer chunkSize,
+                                                       InputStream body) {
+
+        String job = jobId == null ? UUID.randomUUID().toString() : jobId;
+        log.debug("POST /api/v1/import/books : job {}", job);
+        FeedFormat format = FeedFormat.fromContentType(contentType);
+        ImportResultDto result = chunkSize == null
+                ? bookImportService.importBooks(job, body, format)
+                : bookImportService.importBooks(job, body, format, chunkSize);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,43 @@
+package com.vision.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.vision.api.dto.OperationStatusDto;
+import com.vision.api.exception.EntityNotFoundException;
+import com.vision.api.service.WriteBehindService;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class OperationController {
+
+    private final WriteBehindService writeBehindService;
+
+    @Autowired
+    public OperationController(WriteBehindService writeBehindService) {
+        this.writeBehindService = writeBehindService;
+    }
+
+    @Operation(summary = "Gets the status of a write accepted with Prefer: respond-async")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the operation",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = OperationStatusDto.class)) }),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired operation",
+                    content = @Content) })
+    @GetMapping(path = "/v1/operations/{id}", produces = {"application/json"})
+    public ResponseEntity<OperationStatusDto> get(@PathVariable("id") String operationId) {
+
+        log.debug("GET /api/v1/operations/{}", operationId);
+        return ResponseEntity.ok(writeBehindService.getStatus(operationId)
+                .orElseThrow(() -> new EntityNotFoundException("Operation not found: "+operationId)));
+    }
+}
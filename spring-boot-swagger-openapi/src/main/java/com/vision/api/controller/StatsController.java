@@ -0,0 +1,57 @@
+package com.vision.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.vision.api.dto.BookStatsDto;
+import com.vision.api.service.BookStatsService;
+
+import java.util.Map;
+import javax.validation.constraints.Min;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class StatsController {
+
+    private final BookStatsService bookStatsService;
+
+    @Autowired
+    public StatsController(BookStatsService bookStatsService) {
+        this.bookStatsService = bookStatsService;
+    }
+
+    @Operation(summary = "Gets the book count and price statistics of an author")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the statistics",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookStatsDto.class)) }),
+            @ApiResponse(responseCode = "404", description = "Author not found",
+                    content = @Content) })
+    @GetMapping(path = "/v1/stats/authors/{id}", produces = {"application/json"})
+    public ResponseEntity<BookStatsDto> getAuthorStats(@PathVariable("id") @Min(1) Long authorId) {
+
+        log.debug("GET /api/v1/stats/authors/{}", authorId);
+        return ResponseEntity.ok(bookStatsService.getAuthorStats(authorId));
+    }
+
+    @Operation(summary = "Gets the book count and price statistics of every genre")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the statistics, keyed by genre",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Map.class)) }),
+    })
+    @GetMapping(path = "/v1/stats/genres", produces = {"application/json"})
+    public ResponseEntity<Map<String, BookStatsDto>> getGenreStats() {
+
+        log.debug("GET /api/v1/stats/genres");
+        return ResponseEntity.ok(bookStatsService.getGenreStats());
+    }
+}
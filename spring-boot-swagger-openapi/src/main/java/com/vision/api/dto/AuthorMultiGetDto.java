@@ -0,0 +1,19 @@
+package com.vision.api.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuthorMultiGetDto {
+	// in the order of the requested ids, each id once
+	private List<AuthorDto> authors;
+
+    // requested ids that do not exist, in request order
+    private List<Long> missing;
+}
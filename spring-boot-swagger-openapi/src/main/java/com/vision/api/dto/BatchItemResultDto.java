@@ -0,0 +1,24 @@
+package com.vision.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItemResultDto {
+
+    public enum Status { CREATED, INVALID, DUPLICATE, NOT_FOUND }
+
+    // position of the item in the request payload
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String message;
+}
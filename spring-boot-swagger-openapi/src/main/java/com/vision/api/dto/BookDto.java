@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.math.BigDecimal;
 
 @NoArgsConstructor
@@ -18,12 +19,16 @@ public class BookDto {
 
     private Long id;
 
+    // sizes as in schema.sql
     @NotBlank(message = "Title is mandatory")
+    @Size(max = 100, message = "Title is at most 100 characters")
     private String title;
 
+    @Size(max = 500, message = "Description is at most 500 characters")
     private String description;
 
-    @NotNull(message = "Genre is mandatory")
+    @NotBlank(message = "Genre is mandatory")
+    @Size(max = 50, message = "Genre is at most 50 characters")
     private String genre;
 
     @NotNull(message = "Please provide a price")
@@ -0,0 +1,32 @@
+package com.vision.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a CSV or NDJSON book feed. The author is referenced by email,
+ * CSV feeds carry a header row with these property names.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BookImportRecord {
+
+    private String title;
+
+    private String description;
+
+    private String genre;
+
+    private BigDecimal price;
+
+    private String authorEmail;
+}
@@ -0,0 +1,18 @@
+package com.vision.api.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookPageDto {
+	private List<BookDto> books;
+
+    // id to pass as "after" for the next page, null on the last page
+    private Long next;
+}
@@ -0,0 +1,27 @@
+package com.vision.api.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookSearchResultDto {
+    // best match first
+    private List<BookDto> books;
+
+    private long total;
+
+    private int page;
+
+    private int size;
+
+    // genre -> number of matching books, computed without the genre filter
+    private Map<String, Long> genres;
+}
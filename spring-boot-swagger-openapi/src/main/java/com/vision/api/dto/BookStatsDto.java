@@ -0,0 +1,21 @@
+package com.vision.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookStatsDto {
+    private long books;
+
+    // price aggregates over the books that have a price, null when none has
+    private BigDecimal averagePrice;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
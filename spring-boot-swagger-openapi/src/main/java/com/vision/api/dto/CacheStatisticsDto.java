@@ -0,0 +1,19 @@
+package com.vision.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatisticsDto {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long removals;
+    private long evictions;
+}
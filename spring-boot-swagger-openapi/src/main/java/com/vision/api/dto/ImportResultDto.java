@@ -0,0 +1,26 @@
+package com.vision.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResultDto {
+    private String jobId;
+
+    // records already committed by an earlier run of the same job
+    private long resumedFrom;
+
+    private long imported;
+
+    // records without title/genre or with an unknown author email
+    private long rejected;
+
+    private long elapsedMillis;
+
+    private long rowsPerSecond;
+}
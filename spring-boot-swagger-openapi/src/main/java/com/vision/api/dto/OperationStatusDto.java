@@ -0,0 +1,24 @@
+package com.vision.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OperationStatusDto {
+
+    public enum Status { PENDING, DONE, FAILED }
+
+    private String id;
+
+    private Status status;
+
+    // id of the created or updated entity once the operation is done
+    private Long resourceId;
+
+    private String error;
+}
@@ -0,0 +1,10 @@
+package com.vision.api.exception;
+
+public class BadRequestException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+	public BadRequestException(String message) {
+        super(message);
+    }
+}
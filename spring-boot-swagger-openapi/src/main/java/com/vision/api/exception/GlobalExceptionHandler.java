@@ -1,6 +1,8 @@
 package com.vision.api.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -22,7 +24,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleEntityNotFoundException(EntityNotFoundException exception) {
 		String message = (exception.getMessage() == null)? "Message not found": exception.getMessage();
 		
-		log.error("EntityNotFoundException -message: " + message);
+		log.error("EntityNotFoundException -message: {}", message);
 		return ResponseEntity.status(HttpStatus.NOT_FOUND)
 				.body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), message));
     }
@@ -32,17 +34,58 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleDuplicatedEntityException(DuplicatedEntityException exception) {
 		String message = (exception.getMessage() == null)? "Already Exist ": exception.getMessage();
 		
-		log.error("DuplicatedEntityException -message: " + message);
+		log.error("DuplicatedEntityException -message: {}", message);
 		return ResponseEntity.status(HttpStatus.CONFLICT)
 				.body(new ErrorResponse(HttpStatus.CONFLICT.value(), message));
     }
 	
+	@ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException exception) {
+		String message = (exception.getMessage() == null)? "Precondition failed": exception.getMessage();
+
+		log.error("PreconditionFailedException -message: {}", message);
+		return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+				.body(new ErrorResponse(HttpStatus.PRECONDITION_FAILED.value(), message));
+    }
+
+	@ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleBadRequestException(BadRequestException exception) {
+		String message = (exception.getMessage() == null)? "Bad request": exception.getMessage();
+
+		log.error("BadRequestException -message: {}", message);
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				.body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), message));
+    }
+
+	// backpressure from the write-behind queue, clients retry after the hinted delay
+	@ExceptionHandler(QueueFullException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ErrorResponse> handleQueueFullException(QueueFullException exception) {
+		String message = (exception.getMessage() == null)? "Queue full": exception.getMessage();
+
+		log.error("QueueFullException -message: {}", message);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), message));
+    }
+
+	// a concurrent update committed between the If-Match check and the flush
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException exception) {
+		log.error("ObjectOptimisticLockingFailureException -message: {}", exception.getMessage());
+		return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+				.body(new ErrorResponse(HttpStatus.PRECONDITION_FAILED.value(), "Entity was modified concurrently"));
+    }
+
 	//Check validations if you add validation rules on DTO class
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
         List<String> errorMessages = ex.getBindingResult().getFieldErrors()
                 .stream().map(FieldError::getDefaultMessage).collect(Collectors.toList());
-        log.error(HttpStatus.BAD_REQUEST + ex.getMessage());
+        log.error("{}{}", HttpStatus.BAD_REQUEST, ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(),
                 errorMessages.toString()));
     }
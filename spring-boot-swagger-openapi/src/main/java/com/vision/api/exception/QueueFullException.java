@@ -0,0 +1,10 @@
+package com.vision.api.exception;
+
+public class QueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+	public QueueFullException(String message) {
+        super(message);
+    }
+}
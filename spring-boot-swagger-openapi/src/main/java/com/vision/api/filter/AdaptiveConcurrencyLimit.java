@@ -0,0 +1,88 @@
+package com.vision.api.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to latency, after the gradient algorithm: a long-term
+ * average of response times stands for the unloaded latency, a short-term one for the
+ * current latency, and their ratio shrinks the limit as soon as requests start to queue
+ * (for a connection, a lock, a CPU) and lets it grow back by a square-root headroom once
+ * they stop. Samples are taken with {@code tryLock}, a busy limiter skips them instead of
+ * making requests wait.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    // how far the current latency may drift above the long-term one before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private volatile int limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * Answers the number of requests in flight, this one included, or -1 when the limit
+     * is reached. Every admitted request must be handed back to {@link #release}.
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    public void release(long startNanos, int inflightAtStart) {
+        inflight.decrementAndGet();
+        long rtt = System.nanoTime() - startNanos;
+        if (rtt > 0 && sampleLock.tryLock()) {
+            try {
+                update(rtt, inflightAtStart);
+            } finally {
+                sampleLock.unlock();
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private void update(long rtt, int inflightAtStart) {
+        shortRtt = shortRtt == 0 ? rtt : shortRtt + (rtt - shortRtt) / SHORT_WINDOW;
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) / LONG_WINDOW;
+        // after a long overload the long-term average is inflated, let it follow back down
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        // a limit that is not being used says nothing about the latency at that limit
+        if (inflightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = (int) Math.max(minLimit, Math.min(maxLimit, Math.round(smoothed)));
+    }
+}
@@ -0,0 +1,36 @@
+package com.vision.api.filter;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.vision.api.config.RepeatedQueryListener;
+
+/**
+ * Marks the request as the scope in which {@link RepeatedQueryListener} counts
+ * repeated statements.
+ */
+public class QueryScopeFilter extends OncePerRequestFilter {
+
+    private final RepeatedQueryListener listener;
+
+    public QueryScopeFilter(RepeatedQueryListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        listener.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            listener.end();
+        }
+    }
+}
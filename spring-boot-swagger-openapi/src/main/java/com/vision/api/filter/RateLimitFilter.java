@@ -0,0 +1,210 @@
+package com.vision.api.filter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vision.api.exception.ErrorResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admission control for the API. A request first pays its endpoint cost from the token
+ * bucket of its client (a known {@value #API_KEY}, else the remote address), then
+ * takes a slot of the adaptive concurrency limit, which sheds load before the database
+ * pool and the request threads are exhausted. Either refusal answers 429 with
+ * Retry-After; refusals are counted by the metrics and logged at most once per
+ * {@link #REJECT_LOG_INTERVAL}.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY = "X-API-Key";
+
+    static final Duration REJECT_LOG_INTERVAL = Duration.ofSeconds(10);
+
+    private final TokenBuckets buckets;
+    private final Set<String> apiKeys;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final List<Cost> costs = new ArrayList<>();
+    private final ObjectMapper objectMapper;
+    private final Counter rateLimited;
+    private final Counter shed;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AtomicLong nextRejectLogNanos = new AtomicLong(System.nanoTime());
+    private final AtomicLong unloggedRejects = new AtomicLong();
+
+    // costs are keyed by "METHOD /ant/path/pattern", optionally followed by "?param&param" for
+    // query parameters that must be present; keys with parameters are tried first, then the
+    // first match applies, others cost 1
+    public RateLimitFilter(TokenBuckets buckets, AdaptiveConcurrencyLimit concurrencyLimit, Set<String> apiKeys,
+                           Map<String, Integer> costs, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.buckets = buckets;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.concurrencyLimit = concurrencyLimit;
+        costs.forEach((endpoint, cost) -> {
+            String[] parts = endpoint.trim().split("\\s+", 2);
+            String[] pathAndParams = parts[1].split("\\?", 2);
+            String[] params = pathAndParams.length > 1 ? pathAndParams[1].split("&") : new String[0];
+            this.costs.add(new Cost(parts[0], pathAndParams[0], params, cost));
+        });
+        // stable, so keys with the same number of parameters keep their configured order
+        this.costs.sort(Comparator.comparingInt((Cost cost) -> cost.params.length).reversed());
+        this.objectMapper = objectMapper;
+        this.rateLimited = meterRegistry.counter("vision.admission.rejected", "reason", "rate");
+        this.shed = meterRegistry.counter("vision.admission.rejected", "reason", "concurrency");
+        meterRegistry.gauge("vision.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit);
+        meterRegistry.gauge("vision.admission.inflight", concurrencyLimit, AdaptiveConcurrencyLimit::getInflight);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String client = clientOf(request);
+        long waitNanos = buckets.tryAcquire(client, costOf(request));
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(response, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1, "Rate limit exceeded for " + client);
+            return;
+        }
+        int inflight = concurrencyLimit.tryAcquire();
+        if (inflight < 0) {
+            shed.increment();
+            reject(response, 1, "Server busy, " + concurrencyLimit.getLimit() + " requests in flight");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            if (async) {
+                // streamed bodies hold their slot until the stream completes
+                request.getAsyncContext().addListener(new Release(start, inflight));
+            }
+        } finally {
+            if (!async) {
+                concurrencyLimit.release(start, inflight);
+            }
+        }
+    }
+
+    int costOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Cost cost : costs) {
+            if (cost.method.equalsIgnoreCase(request.getMethod()) && pathMatcher.match(cost.pattern, path)
+                    && hasQueryParameters(request.getQueryString(), cost.params)) {
+                return cost.cost;
+            }
+        }
+        return 1;
+    }
+
+    // from the raw query string, request.getParameter would also read a form body
+    private static boolean hasQueryParameters(String query, String[] names) {
+        if (names.length == 0) {
+            return true;
+        }
+        if (query == null) {
+            return false;
+        }
+        Set<String> present = new HashSet<>();
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            present.add(equals < 0 ? pair : pair.substring(0, equals));
+        }
+        return present.containsAll(Arrays.asList(names));
+    }
+
+    // an unknown key is no identity, its requests share the bucket of their address
+    private String clientOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        logRejected(message);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), message));
+    }
+
+    // a flood of refusals would otherwise write one line each; the ones in between are only counted
+    private void logRejected(String message) {
+        long now = System.nanoTime();
+        long next = nextRejectLogNanos.get();
+        if (now - next >= 0 && nextRejectLogNanos.compareAndSet(next, now + REJECT_LOG_INTERVAL.toNanos())) {
+            log.warn("429 {} ({} more refused since the last warning)", message, unloggedRejects.getAndSet(0));
+        } else {
+            unloggedRejects.incrementAndGet();
+        }
+    }
+
+    private static final class Cost {
+        private final String method;
+        private final String pattern;
+        private final String[] params;
+        private final int cost;
+
+        private Cost(String method, String pattern, String[] params, int cost) {
+            this.method = method;
+            this.pattern = pattern;
+            this.params = params;
+            this.cost = cost;
+        }
+    }
+
+    private final class Release implements AsyncListener {
+        private final long start;
+        private final int inflight;
+
+        private Release(long start, int inflight) {
+            this.start = start;
+            this.inflight = inflight;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrencyLimit.release(start, inflight);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.vision.api.filter;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.MDC;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gives every request a correlation id, the client's {@value #CORRELATION_ID_HEADER}
+ * when it sends a usable one, echoed in the response and set in the MDC as
+ * {@value #CORRELATION_ID} for every line logged meanwhile. Whether a request is
+ * sampled is decided once, by endpoint: a sampled request ends with one structured
+ * access line, an unsampled one only logs warnings and errors (see
+ * {@link SamplingTurboFilter}).
+ */
+@Slf4j
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    public static final String CORRELATION_ID = "correlationId";
+
+    private static final Pattern USABLE_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final List<Sampling> samplings = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    // rates are keyed by "METHOD /ant/path/pattern", the first match applies, others are always sampled
+    public RequestLogFilter(Map<String, Double> samplings) {
+        samplings.forEach((endpoint, rate) -> {
+            String[] parts = endpoint.trim().split("\\s+", 2);
+            this.samplings.add(new Sampling(parts[0], parts[1], rate));
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String correlationId = correlationIdOf(request);
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < rateOf(request);
+        response.setHeader(CORRELATION_ID_HEADER, correlationId);
+        MDC.put(CORRELATION_ID, correlationId);
+        if (!sampled) {
+            MDC.put(SamplingTurboFilter.UNSAMPLED, "true");
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            if (async && sampled) {
+                // streamed bodies are logged once the stream completes
+                request.getAsyncContext().addListener(new Completion(correlationId, start));
+            }
+        } finally {
+            if (!async && sampled) {
+                logCompleted(request, response, start);
+            }
+            MDC.remove(CORRELATION_ID);
+            MDC.remove(SamplingTurboFilter.UNSAMPLED);
+        }
+    }
+
+    double rateOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Sampling sampling : samplings) {
+            if (sampling.method.equalsIgnoreCase(request.getMethod()) && pathMatcher.match(sampling.pattern, path)) {
+                return sampling.rate;
+            }
+        }
+        return 1;
+    }
+
+    private static String correlationIdOf(HttpServletRequest request) {
+        String header = request.getHeader(CORRELATION_ID_HEADER);
+        if (header != null && USABLE_ID.matcher(header).matches()) {
+            return header;
+        }
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+
+    private static void logCompleted(HttpServletRequest request, HttpServletResponse response, long start) {
+        log.info("{} {} {} {}", keyValue("method", request.getMethod()), keyValue("path", request.getRequestURI()),
+                keyValue("status", response.getStatus()),
+                keyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    private static final class Sampling {
+        private final String method;
+        private final String pattern;
+        private final double rate;
+
+        private Sampling(String method, String pattern, double rate) {
+            this.method = method;
+            this.pattern = pattern;
+            this.rate = rate;
+        }
+    }
+
+    private static final class Completion implements AsyncListener {
+        private final String correlationId;
+        private final long start;
+
+        private Completion(String correlationId, long start) {
+            this.correlationId = correlationId;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            MDC.put(CORRELATION_ID, correlationId);
+            try {
+                logCompleted((HttpServletRequest) event.getSuppliedRequest(), (HttpServletResponse) event.getSuppliedResponse(), start);
+            } finally {
+                MDC.remove(CORRELATION_ID);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.vision.api.filter;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Drops everything below WARN logged while serving a request that
+ * {@link RequestLogFilter} did not sample. Turbo filters run before the logging event
+ * is created, so a dropped line never formats its message or arguments.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    // set in the MDC for the requests that are not sampled
+    public static final String UNSAMPLED = "unsampled";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.WARN) || MDC.get(UNSAMPLED) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+}
@@ -0,0 +1,70 @@
+package com.vision.api.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets, one per client, in the GCRA form: a bucket is a single
+ * theoretical arrival time advanced with compare-and-set, so refill needs no timer
+ * and no lock. A full bucket is the same as no bucket, which is what lets idle
+ * clients be dropped once the map grows past {@code maxClients}. That sweep is O(n),
+ * so it runs at most once per {@link #SWEEP_INTERVAL_NANOS}, on one thread.
+ */
+public class TokenBuckets {
+
+    static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int burst;
+    private final int maxClients;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+    public TokenBuckets(double tokensPerSecond, int burst, int maxClients) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.burst = burst;
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Takes {@code cost} tokens from the bucket of {@code client}. Answers 0 when they were
+     * taken, otherwise the nanoseconds after which they would be available.
+     */
+    public long tryAcquire(String client, int cost) {
+        long increment = emissionIntervalNanos * Math.min(Math.max(cost, 1), burst);
+        AtomicLong arrival = buckets.computeIfAbsent(client, key -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrival.get();
+            long next = Math.max(current, now) + increment;
+            long waitNanos = next - now - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                if (buckets.size() > maxClients) {
+                    evictFull();
+                }
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    // without this, every request over the limit would scan the whole map while no bucket is full
+    private void evictFull() {
+        long now = System.nanoTime();
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(arrival -> arrival.get() - now <= 0);
+    }
+}
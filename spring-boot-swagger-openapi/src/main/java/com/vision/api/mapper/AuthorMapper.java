@@ -0,0 +1,25 @@
+package com.vision.api.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.AuthorResponseDto;
+import com.vision.api.dto.BookResponseDto;
+import com.vision.api.model.Author;
+import com.vision.api.model.Book;
+
+@Mapper(componentModel = "spring", injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface AuthorMapper {
+
+    AuthorDto toDto(Author author);
+
+    @Mapping(target = "books", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Author toEntity(AuthorDto authorDto);
+
+    AuthorResponseDto toResponseDto(Author author);
+
+    BookResponseDto toBookResponseDto(Book book);
+}
@@ -0,0 +1,17 @@
+package com.vision.api.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.vision.api.dto.BookDto;
+import com.vision.api.model.Book;
+
+@Mapper(componentModel = "spring", uses = AuthorMapper.class, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface BookMapper {
+
+    BookDto toDto(Book book);
+
+    @Mapping(target = "version", ignore = true)
+    Book toEntity(BookDto bookDto);
+}
@@ -1,12 +1,16 @@
 package com.vision.api.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import javax.persistence.*;
 import java.util.List;
 
 import static javax.persistence.GenerationType.IDENTITY;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "author")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,7 +33,14 @@ public class Author {
     @Column(name = "email", unique = true, nullable = false)
     private String email;
 
+    // optimistic lock and ETag of the author resource; primitive, so a detached
+    // reference carrying only an id is not mistaken for a new entity
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @OneToMany(mappedBy = "author", cascade = CascadeType.REMOVE)
+    @OrderBy("id")
     private List<Book> books;
 
 }
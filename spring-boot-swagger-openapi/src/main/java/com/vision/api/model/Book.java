@@ -1,6 +1,8 @@
 package com.vision.api.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
@@ -8,6 +10,8 @@ import java.math.BigDecimal;
 import static javax.persistence.GenerationType.IDENTITY;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "book")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +37,12 @@ public class Book  {
     @Column(name = "price")
     private BigDecimal price;
 
+    // optimistic lock and ETag of the book resource; primitive, so a detached
+    // reference carrying only an id is not mistaken for a new entity
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private Author author;
 }
@@ -1,12 +1,49 @@
 package com.vision.api.repository;
 
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.vision.api.model.Author;
 
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
 
-}
+    // author and its books in a single statement
+    @Query("select a from Author a left join fetch a.books where a.id = :id")
+    Optional<Author> findWithBooksById(@Param("id") Long id);
+
+    @Query("select a.id from Author a where a.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.email from Author a where a.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    List<Author> findByEmailIn(Collection<String> emails);
+
+    @Query("select a.version from Author a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
+    @Query("select b.id from Book b where b.author.id in :ids")
+    List<Long> findBookIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // the author's version and its books' ids and versions in one statement, by book id;
+    // an author without books gives a single row with null book columns, an unknown author none
+    @Query("select a.version as authorVersion, b.id as bookId, b.version as bookVersion"
+            + " from Author a left join a.books b where a.id = :id order by b.id")
+    List<BooksVersionView> findBooksVersionById(@Param("id") Long id);
+
+    interface BooksVersionView {
+        Long getAuthorVersion();
+
+        Long getBookId();
+
+        Long getBookVersion();
+    }
+}
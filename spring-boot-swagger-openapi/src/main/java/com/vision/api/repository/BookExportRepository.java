@@ -0,0 +1,142 @@
+package com.vision.api.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+
+/**
+ * Reads the catalogue row by row for exports. Uses a forward-only, read-only cursor
+ * with a fixed fetch size and no persistence context, so memory does not grow with
+ * the number of exported rows (MySQL needs {@code useCursorFetch=true} to honour it).
+ */
+@Repository
+public class BookExportRepository {
+
+    public static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_BOOKS =
+            "select b.id, b.title, b.description, b.genre, b.price, b.version, " +
+            "a.id as author_id, a.first_name, a.last_name, a.email, a.version as author_version " +
+            "from book b join author a on a.id = b.author_id";
+
+    private static final String SELECT_AUTHORS = "select a.id, a.first_name, a.last_name, a.email, a.version from author a";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BookExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** A book row with the versions of the book and of its author. */
+    @FunctionalInterface
+    public interface VersionedBookHandler {
+        void accept(BookDto book, long version, long authorVersion);
+    }
+
+    /** An author row with its version. */
+    @FunctionalInterface
+    public interface VersionedAuthorHandler {
+        void accept(AuthorDto author, long version);
+    }
+
+    public void forEach(String genre, Long authorId, Consumer<BookDto> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_BOOKS);
+        List<Object> args = new ArrayList<>(2);
+        String separator = " where ";
+        if (genre != null) {
+            sql.append(separator).append("b.genre = ?");
+            args.add(genre);
+            separator = " and ";
+        }
+        if (authorId != null) {
+            sql.append(separator).append("b.author_id = ?");
+            args.add(authorId);
+        }
+        sql.append(" order by b.id");
+        queryBooks(sql.toString(), args, (book, version, authorVersion) -> consumer.accept(book));
+    }
+
+    // callers keep the id list within the IN parameter limits of the driver
+    public void forEach(Collection<Long> ids, Consumer<BookDto> consumer) {
+        forEachWithVersions(ids, (book, version, authorVersion) -> consumer.accept(book));
+    }
+
+    // every book when ids is null, in id order
+    public void forEachWithVersions(Collection<Long> ids, VersionedBookHandler handler) {
+        if (ids == null) {
+            queryBooks(SELECT_BOOKS + " order by b.id", Collections.emptyList(), handler);
+            return;
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        queryBooks(SELECT_BOOKS + " where b.id in (" + placeholders + ") order by b.id", new ArrayList<>(ids), handler);
+    }
+
+    // every author when ids is null, books are not read
+    public void forEachAuthor(Collection<Long> ids, Consumer<AuthorDto> consumer) {
+        forEachAuthorWithVersions(ids, (author, version) -> consumer.accept(author));
+    }
+
+    public void forEachAuthorWithVersions(Collection<Long> ids, VersionedAuthorHandler handler) {
+        RowCallbackHandler rows = rs -> handler.accept(author(rs, "id"), rs.getLong("version"));
+        if (ids == null) {
+            query(SELECT_AUTHORS + " order by a.id", Collections.emptyList(), rows);
+            return;
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        query(SELECT_AUTHORS + " where a.id in (" + placeholders + ") order by a.id", new ArrayList<>(ids), rows);
+    }
+
+    private void queryBooks(String sql, List<Object> args, VersionedBookHandler handler) {
+        query(sql, args, rs -> {
+            handler.accept(BookDto.builder()
+                    .id(rs.getLong("id"))
+                    .title(rs.getString("title"))
+                    .description(rs.getString("description"))
+                    .genre(rs.getString("genre"))
+                    .price(rs.getBigDecimal("price"))
+                    .author(author(rs, "author_id"))
+                    .build(), rs.getLong("version"), rs.getLong("author_version"));
+        });
+    }
+
+    private void query(String sql, List<Object> args, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+
+    private static AuthorDto author(ResultSet rs, String idColumn) throws SQLException {
+        return AuthorDto.builder()
+                .id(rs.getLong(idColumn))
+                .firstName(rs.getString("first_name"))
+                .lastName(rs.getString("last_name"))
+                .email(rs.getString("email"))
+                .build();
+    }
+}
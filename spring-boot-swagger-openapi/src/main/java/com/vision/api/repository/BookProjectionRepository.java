@@ -0,0 +1,91 @@
+package com.vision.api.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.springframework.stereotype.Repository;
+
+import com.vision.api.model.Author;
+import com.vision.api.model.Book;
+import com.vision.api.service.BookFields;
+
+/**
+ * Reads books as sparse fieldsets. The statement selects only the requested columns
+ * and joins author only when an author field other than its id is requested; rows
+ * come back as ordered maps holding just those fields, author fields nested under
+ * {@code author}.
+ */
+@Repository
+public class BookProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<Map<String, Object>> findAll(BookFields fields) {
+        return query(fields, null, null);
+    }
+
+    public Optional<Map<String, Object>> findById(Long bookId, BookFields fields) {
+        return query(fields, "id", bookId).stream().findFirst();
+    }
+
+    public List<Map<String, Object>> findByAuthorId(Long authorId, BookFields fields) {
+        return query(fields, "author", authorId);
+    }
+
+    private List<Map<String, Object>> query(BookFields fields, String filter, Long id) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+        From<Book, Author> author = fields.needsAuthorJoin() ? book.join("author") : null;
+
+        List<Selection<?>> selections = new ArrayList<>();
+        fields.getBookFields().forEach(field -> selections.add(book.get(field)));
+        fields.getAuthorFields().forEach(field -> selections.add(
+                "id".equals(field) ? book.get("author").get("id") : author.get(field)));
+        query.multiselect(selections);
+
+        if (filter != null) {
+            Predicate predicate = "author".equals(filter)
+                    ? builder.equal(book.get("author").get("id"), id)
+                    : builder.equal(book.get("id"), id);
+            query.where(predicate);
+        }
+        query.orderBy(builder.asc(book.get("id")));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            rows.add(toMap(tuple, fields));
+        }
+        return rows;
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, BookFields fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        int column = 0;
+        for (String field : fields.getBookFields()) {
+            row.put(field, tuple.get(column++));
+        }
+        if (!fields.getAuthorFields().isEmpty()) {
+            Map<String, Object> author = new LinkedHashMap<>();
+            for (String field : fields.getAuthorFields()) {
+                author.put(field, tuple.get(column++));
+            }
+            row.put("author", author);
+        }
+        return row;
+    }
+}
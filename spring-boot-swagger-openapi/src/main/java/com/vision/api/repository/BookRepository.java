@@ -1,9 +1,17 @@
 package com.vision.api.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,5 +24,34 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     @Query(value = "select * from book b " +
             "where  b.author_id = :id", nativeQuery = true)
     List<Book> getBooksByAuthorId(@Param("id") long id);
-}
 
+    // served by idx_book_author_id, author fetched in the same statement
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("select b from Book b join fetch b.author a " +
+            "where a.id = :authorId order by b.id")
+    List<Book> findByAuthorId(@Param("authorId") Long authorId);
+
+    // one statement for the whole list instead of one author select per book
+    @Query("select b from Book b join fetch b.author order by b.id")
+    List<Book> findAllWithAuthor();
+
+    // keyset page on the primary key, the limit comes from the Pageable
+    @Query("select b from Book b join fetch b.author " +
+            "where b.id > :after order by b.id")
+    List<Book> findPageAfter(@Param("after") Long after, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true") })
+    @Query("select b from Book b join fetch b.author order by b.id")
+    Stream<Book> streamAll();
+
+    @Query("select b from Book b join fetch b.author where b.id in :ids")
+    List<Book> findWithAuthorByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.id from Book b where b.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.version from Book b where b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
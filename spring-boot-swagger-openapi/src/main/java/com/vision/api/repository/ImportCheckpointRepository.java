@@ -0,0 +1,39 @@
+package com.vision.api.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Number of feed records consumed by the last committed chunk of an import job.
+ * Saved in the chunk transaction, so a restarted job skips exactly what was written.
+ */
+@Repository
+public class ImportCheckpointRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ImportCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long committedRows(String jobId) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "select committed_rows from import_checkpoint where job_id = ?", Long.class, jobId);
+        return rows.isEmpty() ? 0L : rows.get(0);
+    }
+
+    public void save(String jobId, long committedRows) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int updated = jdbcTemplate.update(
+                "update import_checkpoint set committed_rows = ?, updated_at = ? where job_id = ?", committedRows, now, jobId);
+        if (updated == 0) {
+            jdbcTemplate.update(
+                    "insert into import_checkpoint (job_id, committed_rows, updated_at) values (?, ?, ?)", jobId, committedRows, now);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.vision.api.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.vision.api.model.Author;
+import com.vision.api.model.Book;
+
+/**
+ * Multi-row inserts through plain JDBC batches. Hibernate cannot batch inserts of
+ * IDENTITY ids, this path sends {@link #BATCH_SIZE} rows per round trip and reads
+ * the generated ids back in insert order. Rows that come with an id are inserted with
+ * it, before the others. Hibernate does not see these rows, so the query cache is
+ * evicted once the surrounding transaction commits.
+ */
+@Repository
+public class JdbcBatchRepository {
+
+    public static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_AUTHOR = "insert into author (first_name, last_name, email) values (?, ?, ?)";
+    private static final String INSERT_AUTHOR_WITH_ID = "insert into author (id, first_name, last_name, email) values (?, ?, ?, ?)";
+    private static final String INSERT_BOOK = "insert into book (title, description, genre, price, author_id) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_BOOK_WITH_ID = "insert into book (id, title, description, genre, price, author_id) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public JdbcBatchRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // ids in the order of the rows: a supplied id is kept, like JdbcWriteRepository.insertAuthor
+    public List<Long> insertAuthors(List<Author> authors) {
+        return insert(authors, Author::getId, INSERT_AUTHOR, INSERT_AUTHOR_WITH_ID, (ps, author, column) -> {
+            ps.setString(column, author.getFirstName());
+            ps.setString(column + 1, author.getLastName());
+            ps.setString(column + 2, author.getEmail());
+        });
+    }
+
+    // ids in the order of the rows: a supplied id is kept, like JdbcWriteRepository.insertBook
+    public List<Long> insertBooks(List<Book> books) {
+        return insert(books, Book::getId, INSERT_BOOK, INSERT_BOOK_WITH_ID, (ps, book, column) -> {
+            ps.setString(column, book.getTitle());
+            ps.setString(column + 1, book.getDescription());
+            ps.setString(column + 2, book.getGenre());
+            ps.setBigDecimal(column + 3, book.getPrice());
+            if (book.getAuthor() == null) {
+                ps.setNull(column + 4, Types.BIGINT);
+            } else {
+                ps.setLong(column + 4, book.getAuthor().getId());
+            }
+        });
+    }
+
+    // rows with an id go first, in one batch with the id column, so that auto_increment has moved
+    // past their ids when the others are inserted in one reading back the generated ids
+    private <T> List<Long> insert(List<T> rows, Function<T, Long> id, String sql, String sqlWithId, ColumnSetter<T> setter) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<T> generated = rows.stream().filter(row -> id.apply(row) == null).collect(Collectors.toList());
+        List<T> supplied = rows.stream().filter(row -> id.apply(row) != null).collect(Collectors.toList());
+        if (!supplied.isEmpty()) {
+            jdbcTemplate.batchUpdate(sqlWithId, supplied, BATCH_SIZE, (ps, row) -> {
+                ps.setLong(1, id.apply(row));
+                setter.setValues(ps, row, 2);
+            });
+        }
+        Iterator<Long> generatedIds = insertGenerated(sql, generated, setter).iterator();
+        evictQueryCache();
+        return rows.stream()
+                .map(row -> id.apply(row) != null ? id.apply(row) : generatedIds.next())
+                .collect(Collectors.toList());
+    }
+
+    private <T> List<Long> insertGenerated(String sql, List<T> rows, ColumnSetter<T> setter) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(rows.size());
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+                    for (T row : rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()))) {
+                        setter.setValues(ps, row, 1);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    private void evictQueryCache() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            }
+        });
+    }
+
+    // sets the row's columns starting at the given parameter index, after the id when there is one
+    @FunctionalInterface
+    private interface ColumnSetter<T> {
+        void setValues(PreparedStatement ps, T row, int column) throws SQLException;
+    }
+}
@@ -0,0 +1,165 @@
+package com.vision.api.repository;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.vision.api.model.Author;
+import com.vision.api.model.Book;
+
+/**
+ * Single-row writes in one statement each. Duplicates and missing authors are left
+ * to the primary key, {@value #UK_AUTHOR_EMAIL} and {@value #FK_BOOK_AUTHOR}
+ * constraints instead of being looked up first; updates bump the version and check
+ * the expected one in the same statement. Hibernate does not see these writes, so they
+ * take its second-level cache protocol by hand: before the statement the written rows
+ * are soft-locked and their tables' query results invalidated, and both are released
+ * once the transaction completes, so a reader that loads the old row in between cannot
+ * put it back in the cache. Authors are deleted the same way, their books by the
+ * {@value #FK_BOOK_AUTHOR} cascade.
+ */
+@Repository
+@Transactional(propagation = Propagation.MANDATORY)
+public class JdbcWriteRepository {
+
+    public static final String UK_AUTHOR_EMAIL = "uk_author_email";
+    public static final String FK_BOOK_AUTHOR = "fk_book_author";
+
+    private static final String INSERT_AUTHOR = "insert into author (id, first_name, last_name, email) values (?, ?, ?, ?)";
+    private static final String INSERT_BOOK = "insert into book (id, title, description, genre, price, author_id) values (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_AUTHOR = "update author set first_name = ?, last_name = ?, email = ?, version = version + 1 where id = ?";
+    private static final String UPDATE_BOOK = "update book set title = ?, description = ?, genre = ?, price = ?, author_id = ?, version = version + 1 where id = ?";
+    private static final String AND_VERSION = " and version = ?";
+    private static final String DELETE_AUTHORS = "delete from author where id in (%s)";
+
+    // ids per delete statement, well below the bind parameter limits of H2 and MySQL
+    static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public JdbcWriteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // inserts with the given id, throws DuplicateKeyException when it is taken
+    public void insertAuthor(Author author) {
+        lockUntilCompletion(Author.class, List.of());
+        jdbcTemplate.update(INSERT_AUTHOR, author.getId(), author.getFirstName(), author.getLastName(), author.getEmail());
+    }
+
+    // inserts with the given id, throws DuplicateKeyException when it is taken
+    public void insertBook(Book book) {
+        lockUntilCompletion(Book.class, List.of());
+        jdbcTemplate.update(INSERT_BOOK, book.getId(), book.getTitle(), book.getDescription(), book.getGenre(),
+                book.getPrice(), authorId(book));
+    }
+
+    // answers false when no row has that id, or that id and expectedVersion when it is not null
+    public boolean updateAuthor(Author author, Long expectedVersion) {
+        List<Object> args = new ArrayList<>(List.of(author.getFirstName(), author.getLastName(), author.getEmail(), author.getId()));
+        return update(UPDATE_AUTHOR, args, expectedVersion, Author.class, author.getId());
+    }
+
+    // answers false when no row has that id, or that id and expectedVersion when it is not null
+    public boolean updateBook(Book book, Long expectedVersion) {
+        List<Object> args = new ArrayList<>();
+        args.add(book.getTitle());
+        args.add(book.getDescription());
+        args.add(book.getGenre());
+        args.add(book.getPrice());
+        args.add(authorId(book));
+        args.add(book.getId());
+        return update(UPDATE_BOOK, args, expectedVersion, Book.class, book.getId());
+    }
+
+    // one statement per chunk of authors, the database deletes their books; bookIds are
+    // the ids of those books, locked in the cache along with the authors
+    public int deleteAuthors(List<Long> authorIds, Collection<Long> bookIds) {
+        // the statement bypasses the persistence context: pending changes go first, deleted entities must not stay managed
+        entityManager.flush();
+        lockUntilCompletion(Author.class, authorIds);
+        lockUntilCompletion(Book.class, bookIds);
+        int rows = 0;
+        for (int from = 0; from < authorIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = authorIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, authorIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            rows += jdbcTemplate.update(String.format(DELETE_AUTHORS, placeholders), chunk.toArray());
+        }
+        entityManager.clear();
+        return rows;
+    }
+
+    // constraint names are part of the driver message on both H2 and MySQL
+    public static boolean violates(DataAccessException exception, String constraint) {
+        String message = exception.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(constraint);
+    }
+
+    private boolean update(String sql, List<Object> args, Long expectedVersion, Class<?> entity, Long id) {
+        if (expectedVersion != null) {
+            sql += AND_VERSION;
+            args.add(expectedVersion);
+        }
+        lockUntilCompletion(entity, List.of(id));
+        return jdbcTemplate.update(sql, args.toArray()) > 0;
+    }
+
+    private static Long authorId(Book book) {
+        return book.getAuthor() == null ? null : book.getAuthor().getId();
+    }
+
+    // what Hibernate does around its own writes: a soft-locked entry cannot be cached from a
+    // load until it is unlocked, and then only by sessions opened after the unlock; the
+    // pre-invalidated tables keep query results computed meanwhile from being served
+    private void lockUntilCompletion(Class<?> entity, Collection<Long> ids) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(entity);
+        TimestampsCache timestamps = session.getFactory().getCache().getTimestampsCache();
+        Serializable[] spaces = persister.getQuerySpaces();
+        EntityDataAccess access = persister.canWriteToCache() ? persister.getCacheAccessStrategy() : null;
+        Map<Object, SoftLock> locks = new LinkedHashMap<>();
+        if (access != null) {
+            for (Long id : ids) {
+                Object key = access.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+                locks.put(key, access.lockItem(session, key, null));
+            }
+        }
+        if (timestamps != null) {
+            timestamps.preInvalidate(spaces, session);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                locks.forEach((key, lock) -> access.unlockItem(session, key, lock));
+                if (timestamps != null) {
+                    timestamps.invalidate(spaces, session);
+                }
+            }
+        });
+    }
+}
\ No newline at end of file
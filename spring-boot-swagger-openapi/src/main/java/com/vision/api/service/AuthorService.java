@@ -1,87 +1,237 @@
 package com.vision.api.service;
 
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.vision.api.config.MetricsConfig;
 import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.AuthorMultiGetDto;
 import com.vision.api.dto.AuthorResponseDto;
-import com.vision.api.dto.BookDto;
-import com.vision.api.dto.BookResponseDto;
 import com.vision.api.exception.DuplicatedEntityException;
 import com.vision.api.exception.EntityNotFoundException;
+import com.vision.api.exception.PreconditionFailedException;
+import com.vision.api.mapper.AuthorMapper;
 import com.vision.api.model.Author;
+import com.vision.api.model.Book;
 import com.vision.api.repository.AuthorRepository;
+import com.vision.api.repository.BookProjectionRepository;
+import com.vision.api.repository.JdbcWriteRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
-    private final ModelMapper modelMapper;
+    private final BookProjectionRepository bookProjectionRepository;
+    private final JdbcWriteRepository jdbcWriteRepository;
+    private final AuthorMapper authorMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    // the reads that try the read model first open their transaction only when they fall back to the database
+    private final TransactionTemplate readOnlyTransaction;
+
+    // only with read-model.enabled=true
+    @Autowired(required = false)
+    private CatalogueReadModel readModel;
 
     @Autowired
-    public AuthorService(AuthorRepository authorRepository, ModelMapper modelMapper) {
+    public AuthorService(AuthorRepository authorRepository, BookProjectionRepository bookProjectionRepository,
+                         JdbcWriteRepository jdbcWriteRepository, AuthorMapper authorMapper,
+                         ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
         this.authorRepository = authorRepository;
-        this.modelMapper = modelMapper;
+        this.bookProjectionRepository = bookProjectionRepository;
+        this.jdbcWriteRepository = jdbcWriteRepository;
+        this.authorMapper = authorMapper;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
-    
-    @Autowired
-    private BookService bookService;
 
+    // one statement, the primary key and uk_author_email reject duplicates
     @Transactional
     public Long create(AuthorDto authorDto) {
-        if (authorDto.getId()!=null) {
-            authorRepository.findById(authorDto.getId()).ifPresent(author -> {
-                throw new DuplicatedEntityException("Entity Author with id " + author.getId() + " already exists");
-            });
+        Author author = authorMapper.toEntity(authorDto);
+        try {
+            if (author.getId() != null) {
+                jdbcWriteRepository.insertAuthor(author);
+                return changed(author.getId());
+            }
+            return changed(authorRepository.save(author).getId());
+        } catch (DataIntegrityViolationException e) {
+            throw translate(author, e);
         }
-
-        Author author = modelMapper.map(authorDto, Author.class);
-        return authorRepository.save(author).getId();
     }
 
+    // a fixed number of statements however many books the author has, see deleteAll
     @Transactional
     public AuthorDto delete(Long authorId) {
-       // Author author = authorRepository.findById(authorId).orElseThrow(EntityNotFoundException::new);
     	Author author = authorRepository.findById(authorId).orElseThrow(() -> new EntityNotFoundException("Author not found by author id: "+authorId));
-        authorRepository.delete(author);
-        return modelMapper.map(author, AuthorDto.class);
+        AuthorDto dto = authorMapper.toDto(author);
+        deleteAll(List.of(authorId));
+        return dto;
+    }
+
+    // one select for the book ids and one delete per 1000 authors, the books go by the
+    // database cascade instead of one by one through CascadeType.REMOVE; unknown ids are skipped
+    @Transactional
+    public int deleteAll(Collection<Long> authorIds) {
+        List<Long> ids = authorIds.stream().distinct().collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // chunked like the deletes, an unbounded IN list runs into the placeholder limit
+        List<Long> bookIds = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BatchService.IN_CHUNK_SIZE) {
+            bookIds.addAll(authorRepository.findBookIdsByIdIn(ids.subList(from, Math.min(ids.size(), from + BatchService.IN_CHUNK_SIZE))));
+        }
+        int deleted = jdbcWriteRepository.deleteAuthors(ids, bookIds);
+        eventPublisher.publishEvent(new AuthorsChangedEvent(ids));
+        if (!bookIds.isEmpty()) {
+            eventPublisher.publishEvent(new BooksChangedEvent(bookIds));
+        }
+        return deleted;
     }
     
     @Transactional
     public Long update(AuthorDto authorDto) {
-    	authorRepository.findById(authorDto.getId()).orElseThrow(() -> new EntityNotFoundException("Author not found"));
-    	Author author = modelMapper.map(authorDto, Author.class);
-    	return authorRepository.save(author).getId();
+    	return update(authorDto, null);
+    }
+
+    // expectedVersion comes from If-Match, null skips the check
+    @Transactional
+    public Long update(AuthorDto authorDto, Long expectedVersion) {
+    	Author author = authorMapper.toEntity(authorDto);
+    	boolean updated;
+    	try {
+    	    updated = jdbcWriteRepository.updateAuthor(author, expectedVersion);
+    	} catch (DataIntegrityViolationException e) {
+    	    throw translate(author, e);
+    	}
+    	if (!updated) {
+    	    // only a failed update pays for telling a missing author from a stale version
+    	    long current = authorRepository.findVersionById(author.getId()).orElseThrow(() -> new EntityNotFoundException("Author not found"));
+    	    throw new PreconditionFailedException("Author " + author.getId() + " is at version " + current
+    	            + ", not " + expectedVersion);
+    	}
+    	return changed(author.getId());
+    }
+
+    public long getVersion(long authorId) {
+    	Long snapshot = readModel == null ? null : readModel.getAuthorVersion(authorId);
+    	if (snapshot != null) {
+    	    return snapshot;
+    	}
+    	return readOnlyTransaction.execute(status -> authorRepository.findVersionById(authorId)
+    	        .orElseThrow(() -> new EntityNotFoundException("Author not found by author id: "+authorId)));
+    }
+
+    // one statement for the author's version and all of its book versions, see BooksVersion
+    public String getBooksVersion(long authorId) {
+    	String snapshot = readModel == null ? null : readModel.getBooksVersion(authorId);
+    	if (snapshot != null) {
+    	    return snapshot;
+    	}
+    	return readOnlyTransaction.execute(status -> readBooksVersion(authorId));
+    }
+
+    private String readBooksVersion(long authorId) {
+    	List<AuthorRepository.BooksVersionView> rows = authorRepository.findBooksVersionById(authorId);
+    	if (rows.isEmpty()) {
+    	    throw new EntityNotFoundException("Author not found by author id: "+authorId);
+    	}
+    	BooksVersion version = new BooksVersion();
+    	for (AuthorRepository.BooksVersionView row : rows) {
+    	    if (row.getBookId() != null) {
+    	        version.add(row.getBookId(), row.getBookVersion());
+    	    }
+    	}
+    	return version.of(rows.get(0).getAuthorVersion());
     }
     
     public AuthorDto getAuthorById(long authorId) {
-    	   Author author = authorRepository.findById(authorId).orElseThrow(() -> new EntityNotFoundException("Author not found by author id: "+authorId));
-    	   return modelMapper.map(author, AuthorDto.class);
+    	   return getVersionedAuthorById(authorId).getValue();
+    }
+
+    // the version comes from the same snapshot entry or row as the author
+    public Versioned<AuthorDto> getVersionedAuthorById(long authorId) {
+    	   Versioned<AuthorDto> snapshot = readModel == null ? null : readModel.getAuthor(authorId);
+    	   if (snapshot != null) {
+    	       return snapshot;
+    	   }
+    	   return readOnlyTransaction.execute(status -> {
+    	       Author author = authorRepository.findById(authorId).orElseThrow(() -> new EntityNotFoundException("Author not found by author id: "+authorId));
+    	       return new Versioned<>(authorMapper.toDto(author), String.valueOf(author.getVersion()));
+    	   });
+    }
+    
+    // one IN query instead of a findById per id, see MultiGet
+    public AuthorMultiGetDto getAll(Collection<Long> authorIds) {
+    	  return MultiGet.get(authorIds, id -> readModel == null ? null : readModel.getAuthor(id), readOnlyTransaction,
+    	          ids -> authorRepository.findAllById(ids).stream().collect(Collectors.toMap(Author::getId, authorMapper::toDto)),
+    	          AuthorMultiGetDto::new);
     }
     
-    private  List<BookResponseDto> getBookResponseByAuthorId(long authorId){
-    	 List<BookDto> books =bookService.getAllBooksByAutherId(authorId);
-     	 List<BookResponseDto> dtos = books
-	   			  .stream()
-	   			  .map(book -> modelMapper.map(book, BookResponseDto.class))
-	   			  .collect(Collectors.toList());
-	   	  return dtos;
-    }
-        
     public AuthorResponseDto getBooksByAuthorId(long authorId) {
-    	  AuthorDto authorDto = this.getAuthorById(authorId);
-       	  List<BookResponseDto> dtos = this.getBookResponseByAuthorId(authorId);  
-    	  AuthorResponseDto dto = new AuthorResponseDto();
-    	  dto.setId(authorDto.getId());
-    	  dto.setFirstName(authorDto.getFirstName());
-    	  dto.setLastName(authorDto.getLastName());
-    	  dto.setEmail(authorDto.getEmail());
-    	  dto.setBooks(dtos);
-    	  return dto;
+    	  return getVersionedBooksByAuthorId(authorId).getValue();
+    }
+
+    // the version is taken from the same snapshot entry, or from the loaded author and books, no extra statement
+    public Versioned<AuthorResponseDto> getVersionedBooksByAuthorId(long authorId) {
+    	  Versioned<AuthorResponseDto> snapshot = readModel == null ? null : readModel.getAuthorWithBooks(authorId);
+    	  if (snapshot != null) {
+    	      return snapshot;
+    	  }
+    	  return readOnlyTransaction.execute(status -> {
+    	      Author author = authorRepository.findWithBooksById(authorId).orElseThrow(() -> new EntityNotFoundException("Author not found by author id: "+authorId));
+    	      BooksVersion version = new BooksVersion();
+    	      author.getBooks().stream()
+    	              .sorted(Comparator.comparing(Book::getId))
+    	              .forEach(book -> version.add(book.getId(), book.getVersion()));
+    	      return new Versioned<>(authorMapper.toResponseDto(author), version.of(author.getVersion()));
+    	  });
+    }
+
+    // same shape as AuthorResponseDto, each book reduced to the requested fields;
+    // the version is read from the database in the same transaction as the books, never from the read model
+    @Transactional(readOnly = true)
+    public Versioned<Map<String, Object>> getVersionedBooksByAuthorId(long authorId, BookFields fields) {
+    	  String version = readBooksVersion(authorId);
+    	  Author author = authorRepository.findById(authorId).orElseThrow(() -> new EntityNotFoundException("Author not found by author id: "+authorId));
+    	  Map<String, Object> dto = new LinkedHashMap<>();
+    	  dto.put("id", author.getId());
+    	  dto.put("firstName", author.getFirstName());
+    	  dto.put("lastName", author.getLastName());
+    	  dto.put("email", author.getEmail());
+    	  dto.put("books", bookProjectionRepository.findByAuthorId(authorId, fields));
+    	  return new Versioned<>(dto, version);
+    }
+
+    private Long changed(Long authorId) {
+        eventPublisher.publishEvent(new AuthorsChangedEvent(List.of(authorId)));
+        return authorId;
+    }
+
+    private static RuntimeException translate(Author author, DataIntegrityViolationException e) {
+        if (JdbcWriteRepository.violates(e, JdbcWriteRepository.UK_AUTHOR_EMAIL)) {
+            return new DuplicatedEntityException("Entity Author with email " + author.getEmail() + " already exists");
+        }
+        if (e instanceof DuplicateKeyException) {
+            return new DuplicatedEntityException("Entity Author with id " + author.getId() + " already exists");
+        }
+        return e;
     }
 
 }
@@ -0,0 +1,18 @@
+package com.vision.api.service;
+
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by every write path that creates, changes or removes authors. Listeners
+ * re-read the given ids, an id that no longer exists means the author was deleted;
+ * books removed along with an author come in a {@link BooksChangedEvent} of their own.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthorsChangedEvent {
+
+    private final Collection<Long> authorIds;
+}
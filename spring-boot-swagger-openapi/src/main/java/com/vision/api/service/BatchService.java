@@ -0,0 +1,179 @@
+package com.vision.api.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BatchItemResultDto;
+import com.vision.api.dto.BatchItemResultDto.Status;
+import com.vision.api.dto.BookDto;
+import com.vision.api.mapper.AuthorMapper;
+import com.vision.api.mapper.BookMapper;
+import com.vision.api.model.Book;
+import com.vision.api.repository.AuthorRepository;
+import com.vision.api.repository.BookRepository;
+import com.vision.api.repository.JdbcBatchRepository;
+
+/**
+ * Bulk creation of authors and books. The whole payload is validated and checked
+ * for duplicates with set-based queries and against the earlier items of the payload,
+ * then the accepted items are written in JDBC batches inside one transaction, with
+ * their own id when they come with one. Every item gets its own result.
+ */
+@Service
+public class BatchService {
+
+    // keeps IN lists below the parameter limits of the drivers
+    static final int IN_CHUNK_SIZE = 1000;
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final AuthorMapper authorMapper;
+    private final BookMapper bookMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public BatchService(AuthorRepository authorRepository, BookRepository bookRepository,
+                        JdbcBatchRepository jdbcBatchRepository, AuthorMapper authorMapper, BookMapper bookMapper,
+                        Validator validator, ApplicationEventPublisher eventPublisher) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.jdbcBatchRepository = jdbcBatchRepository;
+        this.authorMapper = authorMapper;
+        this.bookMapper = bookMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public List<BatchItemResultDto> createAuthors(List<AuthorDto> authorDtos) {
+        BatchItemResultDto[] results = validate(authorDtos);
+
+        Set<Long> existingIds = findInChunks(pending(authorDtos, results, AuthorDto::getId), authorRepository::findExistingIds);
+        Set<String> existingEmails = findInChunks(pending(authorDtos, results, AuthorDto::getEmail), authorRepository::findExistingEmails);
+
+        Set<Long> payloadIds = new HashSet<>();
+        Set<String> payloadEmails = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < authorDtos.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            AuthorDto authorDto = authorDtos.get(i);
+            if (authorDto.getId() != null && (existingIds.contains(authorDto.getId()) || !payloadIds.add(authorDto.getId()))) {
+                results[i] = result(i, Status.DUPLICATE, "Entity Author with id " + authorDto.getId() + " already exists");
+            } else if (existingEmails.contains(authorDto.getEmail()) || !payloadEmails.add(authorDto.getEmail())) {
+                results[i] = result(i, Status.DUPLICATE, "Entity Author with email " + authorDto.getEmail() + " already exists");
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        List<Long> ids = jdbcBatchRepository.insertAuthors(accepted.stream()
+                .map(i -> authorMapper.toEntity(authorDtos.get(i)))
+                .collect(Collectors.toList()));
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(new AuthorsChangedEvent(ids));
+        }
+        return created(results, accepted, ids);
+    }
+
+    @Transactional
+    public List<BatchItemResultDto> createBooks(List<BookDto> bookDtos) {
+        BatchItemResultDto[] results = validate(bookDtos);
+
+        Set<Long> existingIds = findInChunks(pending(bookDtos, results, BookDto::getId), bookRepository::findExistingIds);
+        Set<Long> existingAuthorIds = findInChunks(pending(bookDtos, results, this::authorId), authorRepository::findExistingIds);
+
+        Set<Long> payloadIds = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < bookDtos.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            BookDto bookDto = bookDtos.get(i);
+            if (bookDto.getId() != null && (existingIds.contains(bookDto.getId()) || !payloadIds.add(bookDto.getId()))) {
+                results[i] = result(i, Status.DUPLICATE, "Entity Book with id " + bookDto.getId() + " already exists");
+            } else if (!existingAuthorIds.contains(authorId(bookDto))) {
+                results[i] = result(i, Status.NOT_FOUND, "Author not found by author id: " + authorId(bookDto));
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        List<Book> books = accepted.stream()
+                .map(i -> bookMapper.toEntity(bookDtos.get(i)))
+                .collect(Collectors.toList());
+        List<Long> ids = jdbcBatchRepository.insertBooks(books);
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(new BooksChangedEvent(ids));
+        }
+        return created(results, accepted, ids);
+    }
+
+    private Long authorId(BookDto bookDto) {
+        return bookDto.getAuthor() == null ? null : bookDto.getAuthor().getId();
+    }
+
+    private <T> BatchItemResultDto[] validate(List<T> dtos) {
+        BatchItemResultDto[] results = new BatchItemResultDto[dtos.size()];
+        for (int i = 0; i < dtos.size(); i++) {
+            Set<ConstraintViolation<T>> violations = validator.validate(dtos.get(i));
+            if (!violations.isEmpty()) {
+                List<String> messages = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.toList());
+                results[i] = result(i, Status.INVALID, messages.toString());
+            }
+        }
+        return results;
+    }
+
+    private List<BatchItemResultDto> created(BatchItemResultDto[] results, List<Integer> accepted, List<Long> ids) {
+        for (int k = 0; k < accepted.size(); k++) {
+            int index = accepted.get(k);
+            results[index] = new BatchItemResultDto(index, ids.get(k), Status.CREATED, null);
+        }
+        return Arrays.asList(results);
+    }
+
+    private static BatchItemResultDto result(int index, Status status, String message) {
+        return new BatchItemResultDto(index, null, status, message);
+    }
+
+    private static <T, K> List<K> pending(List<T> dtos, BatchItemResultDto[] results, Function<T, K> key) {
+        return IntStream.range(0, dtos.size())
+                .filter(i -> results[i] == null)
+                .mapToObj(i -> key.apply(dtos.get(i)))
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static <K, R> Set<R> findInChunks(List<K> keys, Function<Collection<K>, Set<R>> query) {
+        Set<R> found = new HashSet<>();
+        for (int from = 0; from < keys.size(); from += IN_CHUNK_SIZE) {
+            found.addAll(query.apply(keys.subList(from, Math.min(from + IN_CHUNK_SIZE, keys.size()))));
+        }
+        return found;
+    }
+}
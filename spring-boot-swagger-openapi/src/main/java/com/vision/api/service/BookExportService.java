@@ -0,0 +1,101 @@
+package com.vision.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.vision.api.dto.BookDto;
+import com.vision.api.repository.BookExportRepository;
+
+/**
+ * Writes the catalogue to an output stream as NDJSON (one {@link BookDto} per line)
+ * or as CSV with the author flattened into columns. Each row is written as soon as
+ * it is read, nothing is collected in between.
+ */
+@Service
+public class BookExportService {
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("title")
+            .addColumn("description")
+            .addColumn("genre")
+            .addColumn("price")
+            .addColumn("authorId")
+            .addColumn("authorFirstName")
+            .addColumn("authorLastName")
+            .addColumn("authorEmail")
+            .setUseHeader(true)
+            .build();
+
+    private final BookExportRepository bookExportRepository;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Autowired
+    public BookExportService(BookExportRepository bookExportRepository, ObjectMapper objectMapper) {
+        this.bookExportRepository = bookExportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // read-only, so with replica routing the export reads from a replica
+    @Transactional(readOnly = true)
+    public void export(FeedFormat format, String genre, Long authorId, OutputStream out) throws IOException {
+        if (format == FeedFormat.CSV) {
+            exportCsv(genre, authorId, out);
+        } else {
+            exportNdjson(genre, authorId, out);
+        }
+    }
+
+    private void exportNdjson(String genre, Long authorId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            bookExportRepository.forEach(genre, authorId, book -> {
+                try {
+                    generator.writeObject(book);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void exportCsv(String genre, Long authorId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = csvMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setSchema(CSV_SCHEMA);
+            bookExportRepository.forEach(genre, authorId, book -> {
+                try {
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", book.getId());
+                    generator.writeStringField("title", book.getTitle());
+                    generator.writeStringField("description", book.getDescription());
+                    generator.writeStringField("genre", book.getGenre());
+                    if (book.getPrice() == null) {
+                        generator.writeNullField("price");
+                    } else {
+                        generator.writeNumberField("price", book.getPrice());
+                    }
+                    generator.writeNumberField("authorId", book.getAuthor().getId());
+                    generator.writeStringField("authorFirstName", book.getAuthor().getFirstName());
+                    generator.writeStringField("authorLastName", book.getAuthor().getLastName());
+                    generator.writeStringField("authorEmail", book.getAuthor().getEmail());
+                    generator.writeEndObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.vision.api.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.vision.api.exception.BadRequestException;
+
+/**
+ * Sparse fieldset of a book listing, parsed from a {@code fields=} parameter such as
+ * {@code id,title,author.lastName}. {@code author} alone stands for every author field.
+ * Fields are kept in the order of {@link #BOOK_FIELDS} and {@link #AUTHOR_FIELDS},
+ * whatever the order they were requested in.
+ */
+public final class BookFields {
+
+    public static final List<String> BOOK_FIELDS = List.of("id", "title", "description", "genre", "price");
+    public static final List<String> AUTHOR_FIELDS = List.of("id", "firstName", "lastName", "email");
+
+    private static final String AUTHOR_PREFIX = "author.";
+
+    private final List<String> bookFields;
+    private final List<String> authorFields;
+
+    private BookFields(List<String> bookFields, List<String> authorFields) {
+        this.bookFields = bookFields;
+        this.authorFields = authorFields;
+    }
+
+    public static BookFields parse(String fields) {
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requested.isEmpty()) {
+            throw new BadRequestException("fields must name at least one of " + BOOK_FIELDS + " or author." + AUTHOR_FIELDS);
+        }
+        for (String field : requested) {
+            boolean known = BOOK_FIELDS.contains(field) || "author".equals(field)
+                    || field.startsWith(AUTHOR_PREFIX) && AUTHOR_FIELDS.contains(field.substring(AUTHOR_PREFIX.length()));
+            if (!known) {
+                throw new BadRequestException("Unknown book field: " + field);
+            }
+        }
+        List<String> bookFields = BOOK_FIELDS.stream()
+                .filter(requested::contains)
+                .collect(Collectors.toList());
+        List<String> authorFields = requested.contains("author") ? AUTHOR_FIELDS : AUTHOR_FIELDS.stream()
+                .filter(field -> requested.contains(AUTHOR_PREFIX + field))
+                .collect(Collectors.toList());
+        return new BookFields(Collections.unmodifiableList(bookFields), Collections.unmodifiableList(authorFields));
+    }
+
+    public List<String> getBookFields() {
+        return bookFields;
+    }
+
+    public List<String> getAuthorFields() {
+        return authorFields;
+    }
+
+    // author.id is the foreign key on book, any other author field needs the join
+    public boolean needsAuthorJoin() {
+        return authorFields.stream().anyMatch(field -> !"id".equals(field));
+    }
+}
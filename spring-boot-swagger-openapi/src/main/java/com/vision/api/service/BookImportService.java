@@ -0,0 +1,216 @@
+package com.vision.api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookImportRecord;
+import com.vision.api.dto.ImportResultDto;
+import com.vision.api.mapper.BookMapper;
+import com.vision.api.model.Author;
+import com.vision.api.model.Book;
+import com.vision.api.repository.AuthorRepository;
+import com.vision.api.repository.ImportCheckpointRepository;
+import com.vision.api.repository.JdbcBatchRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams a CSV or NDJSON book feed into the catalogue. Records are parsed one at a
+ * time and written in chunks, each chunk in its own transaction together with the
+ * job checkpoint, so an interrupted job resumes after its last committed chunk.
+ */
+@Slf4j
+@Service
+public class BookImportService {
+
+    // larger chunks are clamped, and so are chunks larger than import.author-cache-size
+    public static final int MAX_CHUNK_SIZE = 10_000;
+
+    private final AuthorRepository authorRepository;
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookMapper bookMapper;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final int defaultChunkSize;
+    private final int authorCacheSize;
+
+    @Autowired
+    public BookImportService(AuthorRepository authorRepository, JdbcBatchRepository jdbcBatchRepository,
+                             ImportCheckpointRepository importCheckpointRepository,
+                             PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                             BookMapper bookMapper, Validator validator, ObjectMapper objectMapper,
+                             @Value("${import.chunk-size:1000}") int defaultChunkSize,
+                             @Value("${import.author-cache-size:10000}") int authorCacheSize) {
+        this.authorRepository = authorRepository;
+        this.jdbcBatchRepository = jdbcBatchRepository;
+        this.importCheckpointRepository = importCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.bookMapper = bookMapper;
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(BookImportRecord.class);
+        this.csvReader = new CsvMapper().readerFor(BookImportRecord.class).with(CsvSchema.emptySchema().withHeader());
+        this.defaultChunkSize = defaultChunkSize;
+        this.authorCacheSize = authorCacheSize;
+    }
+
+    public ImportResultDto importBooks(String jobId, InputStream input, FeedFormat format) {
+        return importBooks(jobId, input, format, defaultChunkSize);
+    }
+
+    public ImportResultDto importBooks(String jobId, InputStream input, FeedFormat format, int requestedChunkSize) {
+        long started = System.nanoTime();
+        int chunkSize = Math.max(1, Math.min(requestedChunkSize, Math.min(MAX_CHUNK_SIZE, authorCacheSize)));
+        long resumedFrom = importCheckpointRepository.committedRows(jobId);
+        Map<String, Long> authorIds = boundedCache(authorCacheSize);
+        List<BookImportRecord> chunk = new ArrayList<>(chunkSize);
+        long position = 0;
+        long checkpoint = resumedFrom;
+        long imported = 0;
+        long rejected = 0;
+
+        try (MappingIterator<BookImportRecord> records = (format == FeedFormat.CSV ? csvReader : ndjsonReader).readValues(input)) {
+            while (records.hasNextValue()) {
+                BookImportRecord record;
+                try {
+                    record = records.nextValue();
+                } catch (JsonMappingException e) {
+                    // a value of the wrong type, e.g. price=abc; the iterator resumes at the next record
+                    record = null;
+                }
+                if (++position <= resumedFrom) {
+                    continue;
+                }
+                if (record == null) {
+                    rejected++;
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    int written = writeChunk(jobId, chunk, position, authorIds);
+                    imported += written;
+                    rejected += chunk.size() - written;
+                    checkpoint = position;
+                    chunk.clear();
+                    log.info("Import {}: {} records read, {} imported, {} rows/s",
+                            jobId, position, imported, rowsPerSecond(imported, started));
+                }
+            }
+            // also when only rejected records are left, so the checkpoint moves past them
+            if (position > checkpoint) {
+                int written = writeChunk(jobId, chunk, position, authorIds);
+                imported += written;
+                rejected += chunk.size() - written;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Import " + jobId + " failed after record " + position, e);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Import {} finished: {} imported, {} rejected, {} resumed, {} ms",
+                jobId, imported, rejected, resumedFrom, elapsedMillis);
+        return new ImportResultDto(jobId, resumedFrom, imported, rejected, elapsedMillis, rowsPerSecond(imported, started));
+    }
+
+    private int writeChunk(String jobId, List<BookImportRecord> chunk, long position, Map<String, Long> authorIds) {
+        Integer written = transactionTemplate.execute(status -> {
+            Map<String, Long> chunkAuthorIds = resolveAuthors(chunk, authorIds);
+            // the constraints of the API, so no record can fail the batch and hold back the checkpoint
+            List<Book> books = chunk.stream()
+                    .filter(record -> chunkAuthorIds.containsKey(record.getAuthorEmail()))
+                    .map(record -> toDto(record, chunkAuthorIds.get(record.getAuthorEmail())))
+                    .filter(book -> validator.validate(book).isEmpty())
+                    .map(bookMapper::toEntity)
+                    .collect(Collectors.toList());
+            if (!books.isEmpty()) {
+                eventPublisher.publishEvent(new BooksChangedEvent(jdbcBatchRepository.insertBooks(books)));
+            }
+            importCheckpointRepository.save(jobId, position);
+            return books.size();
+        });
+        return written == null ? 0 : written;
+    }
+
+    // the authors of this chunk, kept apart from the LRU cache so filling it cannot evict them mid-chunk
+    private Map<String, Long> resolveAuthors(List<BookImportRecord> chunk, Map<String, Long> authorIds) {
+        Map<String, Long> chunkAuthorIds = new HashMap<>();
+        Set<String> unknown = new HashSet<>();
+        for (BookImportRecord record : chunk) {
+            String email = record.getAuthorEmail();
+            if (email == null || chunkAuthorIds.containsKey(email)) {
+                continue;
+            }
+            Long authorId = authorIds.get(email);
+            if (authorId != null) {
+                chunkAuthorIds.put(email, authorId);
+            } else {
+                unknown.add(email);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (Author author : authorRepository.findByEmailIn(unknown)) {
+                chunkAuthorIds.put(author.getEmail(), author.getId());
+                authorIds.put(author.getEmail(), author.getId());
+            }
+        }
+        return chunkAuthorIds;
+    }
+
+    private static BookDto toDto(BookImportRecord record, Long authorId) {
+        return BookDto.builder()
+                .title(record.getTitle())
+                .description(record.getDescription())
+                .genre(record.getGenre())
+                .price(record.getPrice())
+                .author(AuthorDto.builder().id(authorId).build())
+                .build();
+    }
+
+    private static long rowsPerSecond(long rows, long startedNanos) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+        return rows * 1000 / elapsedMillis;
+    }
+
+    // least recently used email -> author id lookups, bounded so huge feeds cannot exhaust the heap
+    private static Map<String, Long> boundedCache(int maxEntries) {
+        return new LinkedHashMap<String, Long>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.vision.api.service;
+
+import java.math.BigDecimal;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BookSearchCriteria {
+
+    // free text matched against title and description, null or blank matches every book
+    private final String text;
+
+    private final String genre;
+
+    private final BigDecimal minPrice;
+
+    private final BigDecimal maxPrice;
+
+    private final Long authorId;
+}
@@ -0,0 +1,241 @@
+package com.vision.api.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.vision.api.dto.BookDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * In-memory inverted index over book titles and descriptions. Text queries are
+ * ranked with BM25, filters are applied on the stored genre, price and author, and
+ * genre facet counts ignore the genre filter so clients can offer the other genres.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // best score first, ties by id
+    private static final Comparator<Map.Entry<Long, Double>> RANKING =
+            Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    // term -> book id -> term frequency
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private long totalTerms;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(BookDto book) {
+        replace(List.of(book.getId()), List.of(book));
+    }
+
+    // removes the ids and adds the books as one change, a search sees all of it or none;
+    // tokenizing happens before the lock is taken
+    public void replace(Collection<Long> bookIds, Collection<BookDto> changed) {
+        List<Tokenized> tokenized = changed.stream().map(Tokenized::of).collect(Collectors.toList());
+        lock.writeLock().lock();
+        try {
+            bookIds.forEach(this::removeUnlocked);
+            tokenized.forEach(this::putUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            books.clear();
+            postings.clear();
+            totalTerms = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Hits search(BookSearchCriteria criteria, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = score(criteria.getText());
+            Map<String, Long> genres = new HashMap<>();
+            // only the best offset + limit matches are kept, worst on top: O(n log k) instead of sorting every match
+            int keep = (int) Math.min((long) offset + limit, scores.size());
+            PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(Math.max(1, keep), RANKING.reversed());
+            long total = 0;
+            for (Map.Entry<Long, Double> candidate : scores.entrySet()) {
+                IndexedBook book = books.get(candidate.getKey());
+                if (!matchesPriceAndAuthor(book, criteria)) {
+                    continue;
+                }
+                genres.merge(book.genre, 1L, Long::sum);
+                if (criteria.getGenre() == null || criteria.getGenre().equalsIgnoreCase(book.genre)) {
+                    total++;
+                    if (best.size() < keep) {
+                        best.add(candidate);
+                    } else if (keep > 0 && RANKING.compare(candidate, best.peek()) < 0) {
+                        best.poll();
+                        best.add(candidate);
+                    }
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            List<Long> page = ranked.stream()
+                    .skip(offset)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            return new Hits(page, total, sortByCount(genres));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // every indexed book scores 0 without query text, otherwise only books sharing a term
+    private Map<Long, Double> score(String text) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(text));
+        Map<Long, Double> scores = new HashMap<>();
+        if (terms.isEmpty()) {
+            books.keySet().forEach(id -> scores.put(id, 0d));
+            return scores;
+        }
+        double averageLength = books.isEmpty() ? 1 : Math.max(1d, (double) totalTerms / books.size());
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (books.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+            posting.forEach((id, frequency) -> {
+                double norm = K1 * (1 - B + B * books.get(id).length / averageLength);
+                scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+            });
+        }
+        return scores;
+    }
+
+    private static boolean matchesPriceAndAuthor(IndexedBook book, BookSearchCriteria criteria) {
+        if (criteria.getAuthorId() != null && !criteria.getAuthorId().equals(book.authorId)) {
+            return false;
+        }
+        if (criteria.getMinPrice() != null && (book.price == null || book.price.compareTo(criteria.getMinPrice()) < 0)) {
+            return false;
+        }
+        return criteria.getMaxPrice() == null || (book.price != null && book.price.compareTo(criteria.getMaxPrice()) <= 0);
+    }
+
+    private void putUnlocked(Tokenized book) {
+        removeUnlocked(book.id);
+        book.frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(book.id, frequency));
+        books.put(book.id, book.indexed);
+        totalTerms += book.indexed.length;
+    }
+
+    private void removeUnlocked(Long bookId) {
+        IndexedBook previous = books.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(bookId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalTerms -= previous.length;
+    }
+
+    private static Map<String, Long> sortByCount(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() > 1) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    @AllArgsConstructor
+    private static class IndexedBook {
+        private final String genre;
+        private final BigDecimal price;
+        private final Long authorId;
+        private final int length;
+        private final String[] terms;
+    }
+
+    // a book ready to be indexed, built outside the lock
+    @AllArgsConstructor
+    private static class Tokenized {
+        private final Long id;
+        private final IndexedBook indexed;
+        private final Map<String, Integer> frequencies;
+
+        static Tokenized of(BookDto book) {
+            List<String> tokens = tokenize(book.getTitle());
+            tokens.addAll(tokenize(book.getDescription()));
+            Map<String, Integer> frequencies = new HashMap<>();
+            tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+            IndexedBook indexed = new IndexedBook(book.getGenre(), book.getPrice(),
+                    book.getAuthor() == null ? null : book.getAuthor().getId(),
+                    tokens.size(), frequencies.keySet().toArray(new String[0]));
+            return new Tokenized(book.getId(), indexed, frequencies);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hits {
+        // ids of the requested page, best match first
+        private final List<Long> bookIds;
+        private final long total;
+        private final Map<String, Long> genres;
+    }
+}
@@ -0,0 +1,107 @@
+package com.vision.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookSearchResultDto;
+import com.vision.api.mapper.BookMapper;
+import com.vision.api.model.Book;
+import com.vision.api.repository.BookExportRepository;
+import com.vision.api.repository.BookRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves book search from {@link BookSearchIndex}. The index is built from the
+ * database at startup and refreshed from {@link BooksChangedEvent}s once the
+ * publishing transaction has committed. Only the ids of the requested page are
+ * loaded from the database.
+ */
+@Slf4j
+@Service
+public class BookSearchService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final BookSearchIndex bookSearchIndex;
+    private final BookExportRepository bookExportRepository;
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final Lock writeLock = new ReentrantLock();
+
+    @Autowired
+    public BookSearchService(BookSearchIndex bookSearchIndex, BookExportRepository bookExportRepository,
+                             BookRepository bookRepository, BookMapper bookMapper) {
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookExportRepository = bookExportRepository;
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            bookSearchIndex.clear();
+            bookExportRepository.forEach(null, null, bookSearchIndex::put);
+            log.info("Search index built with {} books in {} ms", bookSearchIndex.size(), System.currentTimeMillis() - started);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // writers are serialised and re-read under the lock, so of two commits to one book the
+    // later read is applied last; each chunk then replaces its books in one step
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        writeLock.lock();
+        try {
+            List<Long> ids = new ArrayList<>(event.getBookIds());
+            for (int from = 0; from < ids.size(); from += BatchService.IN_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BatchService.IN_CHUNK_SIZE));
+                List<BookDto> current = new ArrayList<>(chunk.size());
+                bookExportRepository.forEach(chunk, current::add);
+                bookSearchIndex.replace(chunk, current);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Transactional(readOnly=true)
+    public BookSearchResultDto search(BookSearchCriteria criteria, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        // multiplied as long and clamped, a page past the end is empty rather than a negative offset
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+        BookSearchIndex.Hits hits = bookSearchIndex.search(criteria, offset, pageSize);
+
+        Map<Long, Book> found = hits.getBookIds().isEmpty() ? Map.of()
+                : bookRepository.findWithAuthorByIds(hits.getBookIds()).stream()
+                        .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<BookDto> books = new ArrayList<>(found.size());
+        for (Long id : hits.getBookIds()) {
+            Book book = found.get(id);
+            // a miss is only skipped: on a lagging replica the book may not be there yet, and the
+            // index follows the primary through BooksChangedEvents alone
+            if (book != null) {
+                books.add(bookMapper.toDto(book));
+            }
+        }
+        return new BookSearchResultDto(books, hits.getTotal(), pageNumber, pageSize, hits.getGenres());
+    }
+}
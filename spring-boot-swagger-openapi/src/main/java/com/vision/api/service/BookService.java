@@ -1,80 +1,243 @@
 package com.vision.api.service;
 
+import io.micrometer.core.annotation.Timed;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.vision.api.config.MetricsConfig;
 import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookMultiGetDto;
+import com.vision.api.dto.BookPageDto;
 import com.vision.api.exception.DuplicatedEntityException;
 import com.vision.api.exception.EntityNotFoundException;
+import com.vision.api.exception.PreconditionFailedException;
+import com.vision.api.mapper.BookMapper;
 import com.vision.api.model.Book;
+import com.vision.api.repository.BookProjectionRepository;
 import com.vision.api.repository.BookRepository;
+import com.vision.api.repository.JdbcWriteRepository;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class BookService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    // rows kept in the persistence context while streaming, matches the fetch size of streamAll
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+
     private final BookRepository bookRepository;
-    private final ModelMapper modelMapper;
+    private final BookProjectionRepository bookProjectionRepository;
+    private final JdbcWriteRepository jdbcWriteRepository;
+    private final BookMapper bookMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    // the reads that try the read model first open their transaction only when they fall back to the database
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate listTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // only with read-model.enabled=true
+    @Autowired(required = false)
+    private CatalogueReadModel readModel;
 
     @Autowired
-    public BookService(BookRepository bookRepository, ModelMapper modelMapper) {
+    public BookService(BookRepository bookRepository, BookProjectionRepository bookProjectionRepository,
+                       JdbcWriteRepository jdbcWriteRepository, BookMapper bookMapper,
+                       ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
         this.bookRepository = bookRepository;
-        this.modelMapper = modelMapper;
+        this.bookProjectionRepository = bookProjectionRepository;
+        this.jdbcWriteRepository = jdbcWriteRepository;
+        this.bookMapper = bookMapper;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.listTransaction = new TransactionTemplate(transactionManager);
+        this.listTransaction.setReadOnly(true);
+        this.listTransaction.setTimeout(3000);
     }
 
+    // one statement, the primary key and fk_book_author reject duplicates and unknown authors
     @Transactional
     public Long create(BookDto bookDto) {
-
-        if (bookDto.getId()!=null) {
-            bookRepository.findById(bookDto.getId()).ifPresent(book -> {
-                throw new DuplicatedEntityException("Entity Book with id " + book.getId() + " alrebooky exists");
-            });
+        Book book = bookMapper.toEntity(bookDto);
+        requireAuthorId(book);
+        try {
+            if (book.getId() != null) {
+                jdbcWriteRepository.insertBook(book);
+                return changed(book.getId());
+            }
+            return changed(bookRepository.save(book).getId());
+        } catch (DataIntegrityViolationException e) {
+            throw translate(book, e);
         }
-
-        Book book = modelMapper.map(bookDto, Book.class);
-        return bookRepository.save(book).getId();
     }
     
     @Transactional
     public Long update(BookDto bookDto) {
-    	   bookRepository.findById(bookDto.getId())
-                   .orElseThrow(() -> new EntityNotFoundException("Book not found"));
-    	   
-    	   Book book = modelMapper.map(bookDto, Book.class);
-           return bookRepository.save(book).getId();
+        return update(bookDto, null);
+    }
+
+    // expectedVersion comes from If-Match, null skips the check
+    @Transactional
+    public Long update(BookDto bookDto, Long expectedVersion) {
+    	   Book book = bookMapper.toEntity(bookDto);
+    	   requireAuthorId(book);
+    	   boolean updated;
+    	   try {
+    	       updated = jdbcWriteRepository.updateBook(book, expectedVersion);
+    	   } catch (DataIntegrityViolationException e) {
+    	       throw translate(book, e);
+    	   }
+    	   if (!updated) {
+    	       // only a failed update pays for telling a missing book from a stale version
+    	       long current = bookRepository.findVersionById(book.getId())
+    	               .orElseThrow(() -> new EntityNotFoundException("Book not found"));
+    	       throw new PreconditionFailedException("Book " + book.getId() + " is at version " + current
+    	               + ", not " + expectedVersion);
+    	   }
+           return changed(book.getId());
+    }
+
+    public long getVersion(Long bookId) {
+        Long snapshot = readModel == null ? null : readModel.getBookVersion(bookId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return readOnlyTransaction.execute(status -> bookRepository.findVersionById(bookId)
+                .orElseThrow(() -> new EntityNotFoundException("Book not found for book id: "+bookId)));
     }
 
-    @Transactional(readOnly=true)
     public BookDto get(Long bookId) {
-        Book book = bookRepository.findById(bookId)
-                                        .orElseThrow(() -> new EntityNotFoundException("Book not found for book id: "+bookId));
-        return toDto(book);
+        return getVersioned(bookId).getValue();
+    }
+
+    // the version comes from the same snapshot entry or row as the book
+    public Versioned<BookDto> getVersioned(Long bookId) {
+        Versioned<BookDto> snapshot = readModel == null ? null : readModel.getBook(bookId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return readOnlyTransaction.execute(status -> {
+            Book book = bookRepository.findById(bookId)
+                                            .orElseThrow(() -> new EntityNotFoundException("Book not found for book id: "+bookId));
+            return new Versioned<>(toDto(book), String.valueOf(book.getVersion()));
+        });
+    }
+
+    // one join fetch IN query instead of a findById per id, see MultiGet
+    public BookMultiGetDto getAll(Collection<Long> bookIds) {
+        return MultiGet.get(bookIds, id -> readModel == null ? null : readModel.getBook(id), readOnlyTransaction,
+                ids -> bookRepository.findWithAuthorByIds(ids).stream().collect(Collectors.toMap(Book::getId, this::toDto)),
+                BookMultiGetDto::new);
+    }
+
+    @Transactional(readOnly=true)
+    public Map<String, Object> get(Long bookId, BookFields fields) {
+        return bookProjectionRepository.findById(bookId, fields)
+                .orElseThrow(() -> new EntityNotFoundException("Book not found for book id: "+bookId));
+    }
+
+    // version and fields read from the database in one transaction, never from the read model
+    @Transactional(readOnly=true)
+    public Versioned<Map<String, Object>> getVersioned(Long bookId, BookFields fields) {
+        long version = bookRepository.findVersionById(bookId)
+                .orElseThrow(() -> new EntityNotFoundException("Book not found for book id: "+bookId));
+        return new Versioned<>(get(bookId, fields), String.valueOf(version));
     }
 
     @Transactional(readOnly=true,  timeout=3000)
+    public List<Map<String, Object>> list(BookFields fields) {
+        return bookProjectionRepository.findAll(fields);
+    }
+
     public List<BookDto> list() {
-        return bookRepository.findAll()
+        List<BookDto> snapshot = readModel == null ? null : readModel.getBooks();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return listTransaction.execute(status -> bookRepository.findAllWithAuthor()
+                .stream()
+                .map(this::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    @Transactional(readOnly=true)
+    public BookPageDto page(Long after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // supplied ids can be 0 or negative, the first page starts below all of them
+        List<BookDto> books = bookRepository.findPageAfter(after == null ? Long.MIN_VALUE : after, PageRequest.of(0, size))
                 .stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
+        Long next = books.size() == size ? books.get(size - 1).getId() : null;
+        return new BookPageDto(books, next);
+    }
+
+    @Transactional(readOnly=true)
+    public void stream(Consumer<BookDto> consumer) {
+        try (Stream<Book> books = bookRepository.streamAll()) {
+            int[] count = {0};
+            books.forEach(book -> {
+                consumer.accept(toDto(book));
+                if (++count[0] % STREAM_CLEAR_INTERVAL == 0 && entityManager != null) {
+                    entityManager.clear();
+                }
+            });
+        }
     }
     
     @Transactional(readOnly=true, timeout=3000)
     public List<BookDto> getAllBooksByAutherId(Long authorId){
-    	//List<Book> books = bookRepository.getBooksByAuthorId(authorId);
-    	return bookRepository.findAll()
+    	return bookRepository.findByAuthorId(authorId)
                 .stream()
-                .filter(book -> authorId.equals(book.getAuthor().getId()))
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    private Long changed(Long bookId) {
+        eventPublisher.publishEvent(new BooksChangedEvent(Set.of(bookId)));
+        return bookId;
+    }
+
+    // {"author":{}} passes @NotNull, and a book without author would be an orphan; same answer as BatchService
+    private static void requireAuthorId(Book book) {
+        if (book.getAuthor() == null || book.getAuthor().getId() == null) {
+            throw new EntityNotFoundException("Author not found by author id: null");
+        }
+    }
+
+    private static RuntimeException translate(Book book, DataIntegrityViolationException e) {
+        if (JdbcWriteRepository.violates(e, JdbcWriteRepository.FK_BOOK_AUTHOR)) {
+            return new EntityNotFoundException("Author not found by author id: " + book.getAuthor().getId());
+        }
+        if (e instanceof DuplicateKeyException) {
+            return new DuplicatedEntityException("Entity Book with id " + book.getId() + " alrebooky exists");
+        }
+        return e;
+    }
+
     private BookDto toDto(Book book) {
-        return modelMapper.map(book, BookDto.class);
+        return bookMapper.toDto(book);
     }
     
 }
@@ -0,0 +1,180 @@
+package com.vision.api.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookStatsDto;
+import com.vision.api.exception.EntityNotFoundException;
+import com.vision.api.repository.AuthorRepository;
+import com.vision.api.repository.BookExportRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory materialised view of book count and price aggregates per author and per
+ * genre. Built from the database at startup and kept up to date from
+ * {@link BooksChangedEvent}s: a changed book is subtracted from its old groups and
+ * added to its new ones. Each group keeps its prices in a sorted multiset, so min
+ * and max survive deletes without rescanning the group.
+ */
+@Slf4j
+@Service
+public class BookStatsService {
+
+    private static final int AVERAGE_SCALE = 2;
+
+    private final BookExportRepository bookExportRepository;
+    private final AuthorRepository authorRepository;
+
+    private final Map<Long, Row> books = new HashMap<>();
+    private final Map<Long, Aggregate> byAuthor = new HashMap<>();
+    private final Map<String, Aggregate> byGenre = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public BookStatsService(BookExportRepository bookExportRepository, AuthorRepository authorRepository) {
+        this.bookExportRepository = bookExportRepository;
+        this.authorRepository = authorRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            books.clear();
+            byAuthor.clear();
+            byGenre.clear();
+            bookExportRepository.forEach(null, null, this::addUnlocked);
+            log.info("Book statistics built over {} books", books.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        List<Long> ids = new ArrayList<>(event.getBookIds());
+        for (int from = 0; from < ids.size(); from += BatchService.IN_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BatchService.IN_CHUNK_SIZE));
+            // re-read under the lock, so of two commits to one book the later read is applied last
+            lock.writeLock().lock();
+            try {
+                chunk.forEach(this::removeUnlocked);
+                bookExportRepository.forEach(chunk, this::addUnlocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public BookStatsDto getAuthorStats(long authorId) {
+        BookStatsDto stats;
+        lock.readLock().lock();
+        try {
+            Aggregate aggregate = byAuthor.get(authorId);
+            stats = aggregate == null ? null : aggregate.toDto();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (stats != null) {
+            return stats;
+        }
+        // only authors without books reach the database
+        if (!authorRepository.existsById(authorId)) {
+            throw new EntityNotFoundException("Author not found by author id: "+authorId);
+        }
+        return new BookStatsDto(0, null, null, null);
+    }
+
+    public Map<String, BookStatsDto> getGenreStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, BookStatsDto> stats = new LinkedHashMap<>();
+            byGenre.forEach((genre, aggregate) -> stats.put(genre, aggregate.toDto()));
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addUnlocked(BookDto book) {
+        Row row = new Row(book.getAuthor().getId(), book.getGenre(), book.getPrice());
+        books.put(book.getId(), row);
+        byAuthor.computeIfAbsent(row.authorId, id -> new Aggregate()).add(row.price);
+        byGenre.computeIfAbsent(row.genre, genre -> new Aggregate()).add(row.price);
+    }
+
+    private void removeUnlocked(Long bookId) {
+        Row row = books.remove(bookId);
+        if (row == null) {
+            return;
+        }
+        if (byAuthor.get(row.authorId).remove(row.price)) {
+            byAuthor.remove(row.authorId);
+        }
+        if (byGenre.get(row.genre).remove(row.price)) {
+            byGenre.remove(row.genre);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Row {
+        private final Long authorId;
+        private final String genre;
+        private final BigDecimal price;
+    }
+
+    private static class Aggregate {
+        private long count;
+        private BigDecimal sum = BigDecimal.ZERO;
+        // price -> number of books at that price
+        private final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+        private long priced;
+
+        void add(BigDecimal price) {
+            count++;
+            if (price != null) {
+                priced++;
+                sum = sum.add(price);
+                prices.merge(price, 1, Integer::sum);
+            }
+        }
+
+        // true when the group became empty
+        boolean remove(BigDecimal price) {
+            count--;
+            if (price != null) {
+                priced--;
+                sum = sum.subtract(price);
+                prices.computeIfPresent(price, (p, n) -> n == 1 ? null : n - 1);
+            }
+            return count == 0;
+        }
+
+        BookStatsDto toDto() {
+            if (priced == 0) {
+                return new BookStatsDto(count, null, null, null);
+            }
+            return new BookStatsDto(count,
+                    sum.divide(BigDecimal.valueOf(priced), AVERAGE_SCALE, RoundingMode.HALF_UP),
+                    prices.firstKey(),
+                    prices.lastKey());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.vision.api.service;
+
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by every write path that creates, changes or removes books. Listeners
+ * re-read the given ids, an id that no longer exists means the book was deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class BooksChangedEvent {
+
+    private final Collection<Long> bookIds;
+}
@@ -0,0 +1,20 @@
+package com.vision.api.service;
+
+/**
+ * Version of an author's book listing, the ETag of {@code GET /v1/books/authors/{id}}:
+ * changes whenever the author or any of its books is created, updated or deleted.
+ * Books must be added in id order, whichever read they come from.
+ */
+final class BooksVersion {
+
+    private long hash = 1;
+
+    BooksVersion add(long bookId, long bookVersion) {
+        hash = 1_000_003 * (1_000_003 * hash + bookId) + bookVersion;
+        return this;
+    }
+
+    String of(long authorVersion) {
+        return authorVersion + "-" + Long.toHexString(hash);
+    }
+}
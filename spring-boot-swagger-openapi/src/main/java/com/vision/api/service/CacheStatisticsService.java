@@ -0,0 +1,56 @@
+package com.vision.api.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.springframework.stereotype.Service;
+
+import com.vision.api.dto.CacheStatisticsDto;
+
+/**
+ * Reads the JSR-107 statistics MBeans registered for the second-level cache
+ * regions (see ehcache.xml).
+ */
+@Service
+public class CacheStatisticsService {
+
+    private static final String STATISTICS_QUERY = "javax.cache:type=CacheStatistics,*";
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public List<CacheStatisticsDto> list() {
+        try {
+            return mBeanServer.queryNames(new ObjectName(STATISTICS_QUERY), null)
+                    .stream()
+                    .map(this::toDto)
+                    .sorted(Comparator.comparing(CacheStatisticsDto::getRegion))
+                    .collect(Collectors.toList());
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to read cache statistics", e);
+        }
+    }
+
+    private CacheStatisticsDto toDto(ObjectName name) {
+        return new CacheStatisticsDto(
+                name.getKeyProperty("Cache"),
+                attribute(name, "CacheHits"),
+                attribute(name, "CacheMisses"),
+                attribute(name, "CachePuts"),
+                attribute(name, "CacheRemovals"),
+                attribute(name, "CacheEvictions"));
+    }
+
+    private long attribute(ObjectName name, String attribute) {
+        try {
+            return ((Number) mBeanServer.getAttribute(name, attribute)).longValue();
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to read " + attribute + " of " + name, e);
+        }
+    }
+}
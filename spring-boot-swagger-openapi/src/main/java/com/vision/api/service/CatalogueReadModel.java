@@ -0,0 +1,153 @@
+package com.vision.api.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.AuthorResponseDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.repository.BookExportRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional read model ({@code read-model.enabled=true}): the whole catalogue as an
+ * immutable {@link CatalogueSnapshot} behind a volatile reference. Readers take the
+ * current snapshot without any lock; after every committed author or book write the
+ * changed rows are re-read and a new snapshot is swapped in. Writers are serialised,
+ * and each one re-reads under the lock, so a slower writer never puts back older rows.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "read-model.enabled", havingValue = "true")
+public class CatalogueReadModel {
+
+    private final BookExportRepository bookExportRepository;
+    private final Lock writeLock = new ReentrantLock();
+
+    // null until built, readers then fall back to the database
+    private volatile CatalogueSnapshot snapshot;
+
+    @Autowired
+    public CatalogueReadModel(BookExportRepository bookExportRepository, MeterRegistry meterRegistry) {
+        this.bookExportRepository = bookExportRepository;
+        Gauge.builder("vision.read-model.books", this, model -> model.snapshot == null ? 0 : model.snapshot.bookCount())
+                .description("Books in the current read model snapshot")
+                .register(meterRegistry);
+    }
+
+    // the getters answer null when the snapshot is not built yet or lacks the id,
+    // callers then read the database; each call reads the snapshot reference once,
+    // so a value and its version always come from the same snapshot
+
+    public Versioned<BookDto> getBook(long bookId) {
+        CatalogueSnapshot current = snapshot;
+        return current == null ? null : current.getBook(bookId);
+    }
+
+    public Long getBookVersion(long bookId) {
+        CatalogueSnapshot current = snapshot;
+        return current == null ? null : current.getBookVersion(bookId);
+    }
+
+    public List<BookDto> getBooks() {
+        CatalogueSnapshot current = snapshot;
+        return current == null ? null : current.getBooks();
+    }
+
+    public Versioned<AuthorDto> getAuthor(long authorId) {
+        CatalogueSnapshot current = snapshot;
+        return current == null ? null : current.getAuthor(authorId);
+    }
+
+    public Long getAuthorVersion(long authorId) {
+        CatalogueSnapshot current = snapshot;
+        return current == null ? null : current.getAuthorVersion(authorId);
+    }
+
+    public Versioned<AuthorResponseDto> getAuthorWithBooks(long authorId) {
+        CatalogueSnapshot current = snapshot;
+        return current == null ? null : current.getAuthorWithBooks(authorId);
+    }
+
+    public String getBooksVersion(long authorId) {
+        CatalogueSnapshot current = snapshot;
+        return current == null ? null : current.getBooksVersion(authorId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            snapshot = CatalogueSnapshot.build(
+                    authors -> bookExportRepository.forEachAuthorWithVersions(null,
+                            (author, version) -> authors.accept(new CatalogueSnapshot.Row<>(author, version))),
+                    books -> bookExportRepository.forEachWithVersions(null,
+                            (book, version, authorVersion) -> books.accept(new CatalogueSnapshot.Row<>(book, version))));
+            log.info("Read model built over {} authors and {} books in {} ms", snapshot.authorCount(),
+                    snapshot.bookCount(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        update(event.getBookIds(), (ids, changes) -> {
+            // missing ids stay null, which removes them
+            ids.forEach(id -> changes.books.put(id, null));
+            bookExportRepository.forEachWithVersions(ids, (book, version, authorVersion) -> {
+                changes.books.put(book.getId(), new CatalogueSnapshot.Row<>(book, version));
+                changes.authors.put(book.getAuthor().getId(), new CatalogueSnapshot.Row<>(book.getAuthor(), authorVersion));
+            });
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorsChanged(AuthorsChangedEvent event) {
+        update(event.getAuthorIds(), (ids, changes) -> {
+            ids.forEach(id -> changes.authors.put(id, null));
+            bookExportRepository.forEachAuthorWithVersions(ids,
+                    (author, version) -> changes.authors.put(author.getId(), new CatalogueSnapshot.Row<>(author, version)));
+        });
+    }
+
+    // every change of one event goes into a single copy of the snapshot, however many chunks it is read in
+    private void update(Collection<Long> changedIds, BiConsumer<List<Long>, Changes> reader) {
+        writeLock.lock();
+        try {
+            if (snapshot == null) {
+                // not built yet, the build reads these rows anyway
+                return;
+            }
+            List<Long> ids = new ArrayList<>(changedIds);
+            Changes changes = new Changes();
+            for (int from = 0; from < ids.size(); from += BatchService.IN_CHUNK_SIZE) {
+                reader.accept(ids.subList(from, Math.min(ids.size(), from + BatchService.IN_CHUNK_SIZE)), changes);
+            }
+            snapshot = snapshot.apply(changes.books, changes.authors);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static class Changes {
+        private final TreeMap<Long, CatalogueSnapshot.Row<BookDto>> books = new TreeMap<>();
+        private final TreeMap<Long, CatalogueSnapshot.Row<AuthorDto>> authors = new TreeMap<>();
+    }
+}
@@ -0,0 +1,266 @@
+package com.vision.api.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.AuthorResponseDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookResponseDto;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Immutable view of every author and book: books by id, and authors by id with the
+ * sorted ids of their books, each with its version. Never changed once built; {@link #apply} returns a new
+ * snapshot that shares every untouched entry with this one. Reads hand out fresh DTOs,
+ * so callers cannot reach the shared entries.
+ */
+final class CatalogueSnapshot {
+
+    private static final long[] NO_BOOKS = new long[0];
+
+    private final ImmutableLongMap<BookEntry> books;
+    private final ImmutableLongMap<AuthorEntry> authors;
+
+    private CatalogueSnapshot(ImmutableLongMap<BookEntry> books, ImmutableLongMap<AuthorEntry> authors) {
+        this.books = books;
+        this.authors = authors;
+    }
+
+    // both scans in ascending id order; rows are consumed as they come, no DTO list is kept
+    static CatalogueSnapshot build(Consumer<Consumer<Row<AuthorDto>>> authorScan, Consumer<Consumer<Row<BookDto>>> bookScan) {
+        ImmutableLongMap.Builder<AuthorEntry> authorsBuilder = new ImmutableLongMap.Builder<>();
+        authorScan.accept(author -> authorsBuilder.put(author.value.getId(), AuthorEntry.of(author, NO_BOOKS)));
+        ImmutableLongMap<AuthorEntry> authors = authorsBuilder.build();
+
+        // two passes over the books: count per author, then fill arrays that come out sorted
+        Interner genres = new Interner();
+        ImmutableLongMap.Builder<BookEntry> booksBuilder = new ImmutableLongMap.Builder<>();
+        int[] counts = new int[authors.size()];
+        bookScan.accept(book -> {
+            BookEntry entry = BookEntry.of(book, genres);
+            booksBuilder.put(entry.id, entry);
+            int author = authors.indexOf(entry.authorId);
+            if (author >= 0) {
+                counts[author]++;
+            }
+        });
+        ImmutableLongMap<BookEntry> books = booksBuilder.build();
+
+        long[][] bookIds = new long[authors.size()][];
+        for (int i = 0; i < bookIds.length; i++) {
+            bookIds[i] = counts[i] == 0 ? NO_BOOKS : new long[counts[i]];
+            counts[i] = 0;
+        }
+        books.forEach(book -> {
+            int author = authors.indexOf(book.authorId);
+            if (author >= 0) {
+                bookIds[author][counts[author]++] = book.id;
+            }
+        });
+        Object[] withBooks = new Object[authors.size()];
+        for (int i = 0; i < withBooks.length; i++) {
+            withBooks[i] = authors.valueAt(i).withBooks(bookIds[i]);
+        }
+        return new CatalogueSnapshot(books, authors.withValues(withBooks));
+    }
+
+    int bookCount() {
+        return books.size();
+    }
+
+    int authorCount() {
+        return authors.size();
+    }
+
+    // null when the book or its author is not in the snapshot
+    Versioned<BookDto> getBook(long bookId) {
+        BookEntry book = books.get(bookId);
+        if (book == null) {
+            return null;
+        }
+        AuthorEntry author = authors.get(book.authorId);
+        return author == null ? null : new Versioned<>(book.toDto(author), String.valueOf(book.version));
+    }
+
+    // null exactly when getBook is
+    Long getBookVersion(long bookId) {
+        BookEntry book = books.get(bookId);
+        return book == null || authors.get(book.authorId) == null ? null : book.version;
+    }
+
+    // in id order, books whose author is missing are left out
+    List<BookDto> getBooks() {
+        List<BookDto> dtos = new ArrayList<>(books.size());
+        books.forEach(book -> {
+            AuthorEntry author = authors.get(book.authorId);
+            if (author != null) {
+                dtos.add(book.toDto(author));
+            }
+        });
+        return dtos;
+    }
+
+    Versioned<AuthorDto> getAuthor(long authorId) {
+        AuthorEntry author = authors.get(authorId);
+        return author == null ? null : new Versioned<>(author.toDto(), String.valueOf(author.version));
+    }
+
+    Long getAuthorVersion(long authorId) {
+        AuthorEntry author = authors.get(authorId);
+        return author == null ? null : author.version;
+    }
+
+    // books in id order, like Author.books
+    Versioned<AuthorResponseDto> getAuthorWithBooks(long authorId) {
+        AuthorEntry author = authors.get(authorId);
+        if (author == null) {
+            return null;
+        }
+        List<BookResponseDto> dtos = new ArrayList<>(author.bookIds.length);
+        for (long bookId : author.bookIds) {
+            BookEntry book = books.get(bookId);
+            dtos.add(new BookResponseDto(book.id, book.title, book.description, book.genre, book.price));
+        }
+        return new Versioned<>(new AuthorResponseDto(author.id, author.firstName, author.lastName, author.email, dtos),
+                booksVersion(author));
+    }
+
+    // see BooksVersion, null when the author is not in the snapshot
+    String getBooksVersion(long authorId) {
+        AuthorEntry author = authors.get(authorId);
+        return author == null ? null : booksVersion(author);
+    }
+
+    private String booksVersion(AuthorEntry author) {
+        BooksVersion version = new BooksVersion();
+        for (long bookId : author.bookIds) {
+            version.add(bookId, books.get(bookId).version);
+        }
+        return version.of(author.version);
+    }
+
+    /**
+     * New snapshot with the given changes, this one is left as it is. A null value
+     * removes the id. Books carry their author along, so every author a book points to
+     * is in {@code authorChanges}; the book ids of an author are derived, not taken from there.
+     */
+    CatalogueSnapshot apply(NavigableMap<Long, Row<BookDto>> bookChanges, NavigableMap<Long, Row<AuthorDto>> authorChanges) {
+        Interner genres = new Interner();
+        TreeMap<Long, BookEntry> bookEntries = new TreeMap<>();
+        // changed books that belong to each author after the change
+        Map<Long, TreeSet<Long>> added = new HashMap<>();
+        TreeSet<Long> touched = new TreeSet<>(authorChanges.keySet());
+        bookChanges.forEach((bookId, book) -> {
+            BookEntry before = books.get(bookId);
+            if (before != null) {
+                touched.add(before.authorId);
+            }
+            BookEntry after = book == null ? null : BookEntry.of(book, genres);
+            if (after != null) {
+                touched.add(after.authorId);
+                added.computeIfAbsent(after.authorId, id -> new TreeSet<>()).add(bookId);
+            }
+            bookEntries.put(bookId, after);
+        });
+
+        TreeMap<Long, AuthorEntry> authorEntries = new TreeMap<>();
+        for (Long authorId : touched) {
+            AuthorEntry before = authors.get(authorId);
+            AuthorEntry after;
+            if (authorChanges.containsKey(authorId)) {
+                Row<AuthorDto> author = authorChanges.get(authorId);
+                after = author == null ? null : AuthorEntry.of(author, NO_BOOKS);
+            } else {
+                after = before;
+            }
+            if (after == null) {
+                // removed, or a book of an author this snapshot never had
+                if (before != null) {
+                    authorEntries.put(authorId, null);
+                }
+                continue;
+            }
+            TreeSet<Long> ids = added.getOrDefault(authorId, new TreeSet<>());
+            if (before != null) {
+                for (long bookId : before.bookIds) {
+                    if (!bookChanges.containsKey(bookId)) {
+                        ids.add(bookId);
+                    }
+                }
+            }
+            authorEntries.put(authorId, after.withBooks(ids.stream().mapToLong(Long::longValue).toArray()));
+        }
+        return new CatalogueSnapshot(books.with(bookEntries), authors.with(authorEntries));
+    }
+
+    /** A row as it was read, with its version. */
+    @AllArgsConstructor
+    static final class Row<T> {
+        final T value;
+        final long version;
+    }
+
+    @AllArgsConstructor
+    private static final class BookEntry {
+        private final long id;
+        private final String title;
+        private final String description;
+        private final String genre;
+        private final BigDecimal price;
+        private final long authorId;
+        private final long version;
+
+        static BookEntry of(Row<BookDto> row, Interner genres) {
+            BookDto book = row.value;
+            return new BookEntry(book.getId(), book.getTitle(), book.getDescription(), genres.intern(book.getGenre()),
+                    book.getPrice(), book.getAuthor().getId(), row.version);
+        }
+
+        BookDto toDto(AuthorEntry author) {
+            return BookDto.builder().id(id).title(title).description(description).genre(genre).price(price)
+                    .author(author.toDto()).build();
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class AuthorEntry {
+        private final long id;
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private final long version;
+        private final long[] bookIds;
+
+        static AuthorEntry of(Row<AuthorDto> row, long[] bookIds) {
+            AuthorDto author = row.value;
+            return new AuthorEntry(author.getId(), author.getFirstName(), author.getLastName(), author.getEmail(),
+                    row.version, bookIds);
+        }
+
+        AuthorEntry withBooks(long[] bookIds) {
+            return new AuthorEntry(id, firstName, lastName, email, version, bookIds.length == 0 ? NO_BOOKS : bookIds);
+        }
+
+        AuthorDto toDto() {
+            return AuthorDto.builder().id(id).firstName(firstName).lastName(lastName).email(email).build();
+        }
+    }
+
+    // a handful of genres shared by every book, one String per distinct value
+    private static final class Interner {
+        private final Map<String, String> values = new HashMap<>();
+
+        String intern(String value) {
+            return value == null ? null : values.computeIfAbsent(value, v -> v);
+        }
+    }
+}
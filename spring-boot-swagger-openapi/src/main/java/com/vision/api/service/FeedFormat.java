@@ -0,0 +1,29 @@
+package com.vision.api.service;
+
+import java.util.Locale;
+
+public enum FeedFormat {
+    CSV, NDJSON;
+
+    public static FeedFormat fromContentType(String contentType) {
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+
+    // the first of the two media types listed in an Accept header wins, NDJSON otherwise
+    public static FeedFormat fromAccept(String accept) {
+        if (accept == null) {
+            return NDJSON;
+        }
+        String header = accept.toLowerCase(Locale.ROOT);
+        int csv = header.indexOf("text/csv");
+        int ndjson = header.indexOf("application/x-ndjson");
+        return csv >= 0 && (ndjson < 0 || csv < ndjson) ? CSV : NDJSON;
+    }
+
+    public static FeedFormat fromFileName(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+    }
+}
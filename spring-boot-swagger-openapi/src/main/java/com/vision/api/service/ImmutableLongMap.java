@@ -0,0 +1,128 @@
+package com.vision.api.service;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.function.Consumer;
+
+/**
+ * Immutable map from primitive {@code long} keys to values: a sorted key array and a
+ * parallel value array, looked up by binary search. No boxing, no entry objects, and
+ * safe to read from any thread once published. Changes produce a new map.
+ */
+final class ImmutableLongMap<V> {
+
+    private static final ImmutableLongMap<?> EMPTY = new ImmutableLongMap<>(new long[0], new Object[0]);
+
+    private final long[] keys;
+    private final Object[] values;
+
+    private ImmutableLongMap(long[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> ImmutableLongMap<V> empty() {
+        return (ImmutableLongMap<V>) EMPTY;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    // negative when absent, see Arrays.binarySearch
+    int indexOf(long key) {
+        return Arrays.binarySearch(keys, key);
+    }
+
+    V get(long key) {
+        int index = indexOf(key);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    // in key order
+    void forEach(Consumer<? super V> consumer) {
+        for (int i = 0; i < values.length; i++) {
+            consumer.accept(valueAt(i));
+        }
+    }
+
+    // same keys, values.length must be size()
+    <W> ImmutableLongMap<W> withValues(Object[] values) {
+        if (values.length != keys.length) {
+            throw new IllegalArgumentException("Expected " + keys.length + " values, got " + values.length);
+        }
+        return new ImmutableLongMap<>(keys, values);
+    }
+
+    // copy-on-write: one merge pass over both sorted sequences, a null value removes the key
+    ImmutableLongMap<V> with(NavigableMap<Long, V> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        // exact size first, so the two arrays are the only copies made
+        int length = keys.length;
+        for (Map.Entry<Long, V> change : changes.entrySet()) {
+            boolean present = indexOf(change.getKey()) >= 0;
+            if (present && change.getValue() == null) {
+                length--;
+            } else if (!present && change.getValue() != null) {
+                length++;
+            }
+        }
+        long[] mergedKeys = new long[length];
+        Object[] mergedValues = new Object[length];
+        int size = 0;
+        int i = 0;
+        Iterator<Map.Entry<Long, V>> it = changes.entrySet().iterator();
+        Map.Entry<Long, V> change = it.next();
+        while (i < keys.length || change != null) {
+            if (change == null || (i < keys.length && keys[i] < change.getKey())) {
+                mergedKeys[size] = keys[i];
+                mergedValues[size++] = values[i++];
+                continue;
+            }
+            if (i < keys.length && keys[i] == change.getKey()) {
+                i++;
+            }
+            if (change.getValue() != null) {
+                mergedKeys[size] = change.getKey();
+                mergedValues[size++] = change.getValue();
+            }
+            change = it.hasNext() ? it.next() : null;
+        }
+        return new ImmutableLongMap<>(mergedKeys, mergedValues);
+    }
+
+    /** Collects entries in ascending key order, as they come from an {@code order by id} scan. */
+    static final class Builder<V> {
+
+        private long[] keys = new long[1024];
+        private Object[] values = new Object[1024];
+        private int size;
+
+        Builder<V> put(long key, V value) {
+            if (size > 0 && keys[size - 1] >= key) {
+                throw new IllegalArgumentException("Keys must be added in ascending order, got " + key + " after " + keys[size - 1]);
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = key;
+            values[size++] = value;
+            return this;
+        }
+
+        ImmutableLongMap<V> build() {
+            return new ImmutableLongMap<>(Arrays.copyOf(keys, size), Arrays.copyOf(values, size));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.vision.api.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vision.api.exception.BadRequestException;
+
+/**
+ * Ordered multi-get shared by the book and author reads: each id once, snapshot hits
+ * first, the rest in a single IN query, and the results in request order with the
+ * unknown ids listed as missing. At most {@value #MAX_IDS} ids per request, which
+ * keeps the IN list within {@link BatchService#IN_CHUNK_SIZE}.
+ */
+final class MultiGet {
+
+    static final int MAX_IDS = BatchService.IN_CHUNK_SIZE;
+
+    private MultiGet() {
+    }
+
+    // snapshot answers null for an id it does not hold, load reads the others by id
+    static <T, R> R get(Collection<Long> requestedIds, Function<Long, Versioned<T>> snapshot,
+                        TransactionTemplate readOnlyTransaction, Function<List<Long>, Map<Long, T>> load,
+                        BiFunction<List<T>, List<Long>, R> result) {
+        if (requestedIds.size() > MAX_IDS) {
+            throw new BadRequestException("At most " + MAX_IDS + " ids per request, got " + requestedIds.size());
+        }
+        List<Long> ids = requestedIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        Map<Long, T> found = new HashMap<>();
+        List<Long> pending = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Versioned<T> hit = snapshot.apply(id);
+            if (hit != null) {
+                found.put(id, hit.getValue());
+            } else {
+                pending.add(id);
+            }
+        }
+        if (!pending.isEmpty()) {
+            readOnlyTransaction.executeWithoutResult(status -> found.putAll(load.apply(pending)));
+        }
+        List<T> values = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T value = found.get(id);
+            if (value != null) {
+                values.add(value);
+            } else {
+                missing.add(id);
+            }
+        }
+        return result.apply(values, missing);
+    }
+}
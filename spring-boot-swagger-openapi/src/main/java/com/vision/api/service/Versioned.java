@@ -0,0 +1,16 @@
+package com.vision.api.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A value with the version it was read at. Both come from the same read, so an ETag
+ * built from the version always describes the body it is sent with.
+ */
+@Getter
+@AllArgsConstructor
+public class Versioned<T> {
+
+    private final T value;
+    private final String version;
+}
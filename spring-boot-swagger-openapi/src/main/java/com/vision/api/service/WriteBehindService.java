@@ -0,0 +1,162 @@
+package com.vision.api.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vision.api.dto.OperationStatusDto;
+import com.vision.api.dto.OperationStatusDto.Status;
+import com.vision.api.exception.QueueFullException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind queue for clients that accept {@code 202 Accepted}. Mutations wait in a
+ * bounded queue and a single writer thread drains them in batches, one transaction per
+ * batch. When a batch fails it is replayed one mutation per transaction, so a bad
+ * mutation fails alone. A full queue rejects new mutations instead of buffering them.
+ */
+@Slf4j
+@Service
+public class WriteBehindService {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<Operation> queue;
+    private final Map<String, OperationStatusDto> statuses;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    @Autowired
+    public WriteBehindService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                              @Value("${write-behind.capacity:10000}") int capacity,
+                              @Value("${write-behind.batch-size:500}") int batchSize,
+                              @Value("${write-behind.retained-statuses:100000}") int retainedStatuses) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        // oldest statuses are forgotten first, keep this well above the capacity
+        this.statuses = Collections.synchronizedMap(new LinkedHashMap<String, OperationStatusDto>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OperationStatusDto> eldest) {
+                return size() > retainedStatuses;
+            }
+        });
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.writer = new Thread(this::drain, "write-behind");
+        this.writer.setDaemon(true);
+        Gauge.builder("vision.write-behind.queue", queue, BlockingQueue::size)
+                .description("Mutations waiting for the write-behind writer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    // lets the writer finish what is already queued
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Queues a mutation returning the id of the entity it wrote and answers its operation id.
+     * Throws {@link QueueFullException} when the queue is full.
+     */
+    public String submit(Supplier<Long> write) {
+        Operation operation = new Operation(UUID.randomUUID().toString(), write);
+        statuses.put(operation.id, new OperationStatusDto(operation.id, Status.PENDING, null, null));
+        if (!running || !queue.offer(operation)) {
+            statuses.remove(operation.id);
+            throw new QueueFullException("Write-behind queue is full, retry later");
+        }
+        return operation.id;
+    }
+
+    public Optional<OperationStatusDto> getStatus(String operationId) {
+        return Optional.ofNullable(statuses.get(operationId));
+    }
+
+    private void drain() {
+        List<Operation> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Operation first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Write-behind batch of {} lost", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Operation> batch) {
+        Long[] resourceIds = new Long[batch.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    resourceIds[i] = batch.get(i).write.get();
+                }
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                complete(batch.get(0), Status.FAILED, null, e.getMessage());
+                return;
+            }
+            log.warn("Write-behind batch of {} failed, replaying one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(operation -> write(List.of(operation)));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), Status.DONE, resourceIds[i], null);
+        }
+    }
+
+    private void complete(Operation operation, Status status, Long resourceId, String error) {
+        statuses.put(operation.id, new OperationStatusDto(operation.id, status, resourceId, error));
+    }
+
+    private static final class Operation {
+        private final String id;
+        private final Supplier<Long> write;
+
+        private Operation(String id, Supplier<Long> write) {
+            this.id = id;
+            this.write = write;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Optimistic locking versions, the unique email and the cascading foreign key that the
+-- single statement writes rely on, the author index and the import checkpoints.
+-- Run before starting a release that maps Author.version and Book.version.
+
+alter table author add column version bigint(20) not null default 0;
+alter table book add column version bigint(20) not null default 0;
+
+-- fails while two authors share an email, find them with
+-- select email from author group by email having count(*) > 1;
+alter table author add constraint uk_author_email unique (email);
+
+create index idx_book_author_id on book (author_id);
+
+-- fails while books point at deleted authors, find them with
+-- select b.id from book b left join author a on a.id = b.author_id where b.author_id is not null and a.id is null;
+alter table book add constraint fk_book_author foreign key (author_id) references author(id) on delete cascade;
+
+create table import_checkpoint
+(
+    job_id                varchar(200) not null,
+    committed_rows        bigint(20) not null,
+    updated_at            timestamp not null,
+    primary key (job_id)
+);
@@ -0,0 +1,5 @@
+-- Every book has an author, Book.author is optional=false.
+-- Fails while books without author exist, find them with
+-- select id from book where author_id is null;
+
+alter table book modify author_id bigint(20) not null;
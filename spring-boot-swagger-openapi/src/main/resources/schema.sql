@@ -1,3 +1,4 @@
+drop table if exists import_checkpoint;
 drop table if exists book;
 drop table if exists author;
 
@@ -7,7 +8,9 @@ create table author
     first_name            varchar(100) not null,
     last_name             varchar(100) not null,
     email                 varchar(150) not null,
-    primary key (id)
+    version               bigint(20) not null default 0,
+    primary key (id),
+    constraint uk_author_email unique (email)
 );
 
 create table book
@@ -17,6 +20,18 @@ create table book
     description           varchar(500),
     genre                 varchar(50) not null,
     price                 numeric,
-    author_id             bigint(20) references author(id) on delete cascade,
-    primary key (id)
-);
\ No newline at end of file
+    author_id             bigint(20) not null,
+    version               bigint(20) not null default 0,
+    primary key (id),
+    constraint fk_book_author foreign key (author_id) references author(id) on delete cascade
+);
+
+create index idx_book_author_id on book (author_id);
+
+create table import_checkpoint
+(
+    job_id                varchar(200) not null,
+    committed_rows        bigint(20) not null,
+    updated_at            timestamp not null,
+    primary key (job_id)
+);
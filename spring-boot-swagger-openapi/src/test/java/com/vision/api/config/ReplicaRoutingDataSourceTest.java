@@ -0,0 +1,77 @@
+package com.vision.api.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@Tag("UnitTest")
+@DisplayName("Replica Routing DataSource Unit Tests")
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String DATABASE = "select database()";
+
+    @Test
+    @DisplayName("Test 1: given a primary and a replica, read-only transactions should read from the replica")
+    public void test_1_givenReplica_thenReadOnlyTransactionsUseIt() throws Exception {
+
+        //given
+        ReplicaRoutingDataSource dataSource = routing(h2("replica"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        //when-then
+        assertEquals("replica", readOnly.execute(status -> jdbcTemplate.queryForObject(DATABASE, String.class)));
+        assertEquals("primary", transaction.execute(status -> jdbcTemplate.queryForObject(DATABASE, String.class)));
+        assertEquals("primary", jdbcTemplate.queryForObject(DATABASE, String.class));
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Test 2: given a replica that is down, reads should fail over to the primary and skip it for the retry interval")
+    public void test_2_givenReplicaDown_thenReadsFailOverToPrimary() throws Exception {
+
+        //given
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource dataSource = routing(down);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+
+        //when
+        String first = readOnly.execute(status -> jdbcTemplate.queryForObject(DATABASE, String.class));
+        String second = readOnly.execute(status -> jdbcTemplate.queryForObject(DATABASE, String.class));
+
+        //then
+        assertEquals("primary", first);
+        assertEquals("primary", second);
+        verify(down, times(1)).getConnection();
+        dataSource.close();
+    }
+
+    private static ReplicaRoutingDataSource routing(DataSource replica) {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(h2("primary"), List.of(replica), Duration.ofSeconds(10));
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DATABASE_TO_LOWER=TRUE", "sa", "");
+    }
+}
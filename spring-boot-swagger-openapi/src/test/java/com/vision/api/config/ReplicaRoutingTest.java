@@ -0,0 +1,81 @@
+package com.vision.api.config;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vision.api.dto.BookDto;
+import com.vision.api.service.AuthorService;
+import com.vision.api.service.BookExportService;
+import com.vision.api.service.BookService;
+import com.vision.api.service.FeedFormat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.OutputStream;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"test", "replica"})
+@Tag("IntegrationTest")
+@DisplayName("Replica Routing Integration Tests")
+public class ReplicaRoutingTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookExportService bookExportService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Test 1: given a replica pool, reads should use it and writes the primary")
+    public void test_1_givenReplica_thenReadsUseItAndWritesThePrimary() throws Exception {
+        assertTrue(dataSource.isWrapperFor(ReplicaRoutingDataSource.class));
+
+        //when
+        double replicaBefore = acquired("replica-0");
+        bookService.list();
+        double replicaAfterRead = acquired("replica-0");
+
+        double primaryBefore = acquired("primary");
+        BookDto book = bookService.get(1L);
+        bookService.update(book);
+
+        //then
+        assertEquals(replicaBefore + 1, replicaAfterRead);
+        assertTrue(acquired("primary") > primaryBefore);
+    }
+
+    @Test
+    @DisplayName("Test 2: given a replica pool, author reads and the export should use it")
+    public void test_2_givenReplica_thenAuthorReadsAndExportUseIt() throws Exception {
+
+        //when
+        double replicaBefore = acquired("replica-0");
+        authorService.getVersion(2L);
+        bookExportService.export(FeedFormat.NDJSON, null, 2L, OutputStream.nullOutputStream());
+
+        //then
+        assertEquals(replicaBefore + 2, acquired("replica-0"));
+    }
+
+    private double acquired(String pool) {
+        // pools start, and register their meters, on their first connection
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+        return acquire == null ? 0 : acquire.count();
+    }
+}
@@ -0,0 +1,59 @@
+package com.vision.api.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Tag("UnitTest")
+@DisplayName("Virtual Thread Config Unit Tests")
+public class VirtualThreadConfigTest {
+
+    @Test
+    @DisplayName("Test 1: given Java 21 or newer, executor should run tasks on virtual threads")
+    public void test_1_givenJava21_thenTasksRunOnVirtualThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21);
+
+        //given
+        ExecutorService executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor();
+
+        //when
+        Future<Boolean> virtual = executor.submit(() -> (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+
+        //then
+        assertTrue(virtual.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test 2: given a Java release before 21, creating the executor should fail fast")
+    public void test_2_givenOldJava_thenFailsFast() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        //when-then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                VirtualThreadConfig::newVirtualThreadPerTaskExecutor);
+        assertTrue(exception.getMessage().contains("Java 21"));
+    }
+
+    @Test
+    @DisplayName("Test 3: given MySQL with a Connector/J older than 8.0.33, the mode should be refused")
+    public void test_3_givenOldMysqlDriver_thenRefused() {
+
+        //when-then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> VirtualThreadConfig.checkMysqlDriver("jdbc:mysql://localhost:3306/db_mobile", "8.0.31"));
+        assertTrue(exception.getMessage().contains("8.0.33"));
+        assertThrows(IllegalStateException.class, () -> VirtualThreadConfig.checkMysqlDriver("jdbc:mysql://localhost/db", null));
+        assertDoesNotThrow(() -> VirtualThreadConfig.checkMysqlDriver("jdbc:mysql://localhost/db", "8.0.33"));
+        assertDoesNotThrow(() -> VirtualThreadConfig.checkMysqlDriver("jdbc:mysql://localhost/db", "8.1.0"));
+        assertDoesNotThrow(() -> VirtualThreadConfig.checkMysqlDriver("jdbc:h2:mem:testdb", "8.0.31"));
+    }
+}
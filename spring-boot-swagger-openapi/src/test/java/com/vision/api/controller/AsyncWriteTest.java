@@ -0,0 +1,115 @@
+package com.vision.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.dto.OperationStatusDto;
+import com.vision.api.dto.OperationStatusDto.Status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Async Write Integration Tests")
+public class AsyncWriteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Test 1: given Prefer respond-async, when create Author, then 202 and the operation completes")
+    public void test_1_givenRespondAsync_whenCreateAuthor_ThenAcceptedAndDone() throws Exception {
+
+        //given
+        AuthorDto authorDto = AuthorDto.builder().firstName("Iain").lastName("Banks").email("iain@culture.org").build();
+
+        //when
+        MvcResult result = this.mockMvc.perform(post("/api/v1/authors")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authorDto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(header().string("Location", containsString("/api/v1/operations/")))
+                .andReturn();
+
+        //then
+        OperationStatusDto operation = awaitOperation(result.getResponse().getHeader("Location"));
+        assertEquals(Status.DONE, operation.getStatus());
+        assertNotNull(operation.getResourceId());
+        this.mockMvc.perform(get("/api/v1/authors/" + operation.getResourceId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is("iain@culture.org")));
+    }
+
+    @Test
+    @DisplayName("Test 2: given a Book of an unknown Author, when created async, then only its operation fails")
+    public void test_2_givenUnknownAuthor_whenCreateBookAsync_ThenOperationFailed() throws Exception {
+
+        //given
+        BookDto bookDto = BookDto.builder().title("Excession").genre("Sci-Fi").price(BigDecimal.TEN)
+                .author(AuthorDto.builder().id(404404L).build()).build();
+
+        //when
+        MvcResult result = this.mockMvc.perform(post("/api/v1/books")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookDto)))
+                .andExpect(status().isAccepted())
+                .andReturn();
+
+        //then
+        OperationStatusDto operation = awaitOperation(result.getResponse().getHeader("Location"));
+        assertEquals(Status.FAILED, operation.getStatus());
+        assertNotNull(operation.getError());
+    }
+
+    @Test
+    @DisplayName("Test 3: given an unknown operation id, when get status, then not found")
+    public void test_3_givenUnknownOperation_whenGetStatus_ThenNotFound() throws Exception {
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/operations/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private OperationStatusDto awaitOperation(String location) throws Exception {
+        String path = location.substring(location.indexOf("/api/"));
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = this.mockMvc.perform(get(path))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            OperationStatusDto operation = objectMapper.readValue(body, OperationStatusDto.class);
+            if (operation.getStatus() != Status.PENDING) {
+                return operation;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Operation still pending: " + location);
+    }
+}
@@ -2,6 +2,7 @@ package com.vision.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.AuthorMultiGetDto;
 import com.vision.api.dto.AuthorResponseDto;
 import com.vision.api.dto.BookDto;
 import com.vision.api.dto.BookResponseDto;
@@ -10,6 +11,7 @@ import com.vision.api.exception.EntityNotFoundException;
 import com.vision.api.model.Author;
 import com.vision.api.model.Book;
 import com.vision.api.service.AuthorService;
+import com.vision.api.service.Versioned;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -22,11 +24,13 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -148,7 +152,7 @@ public class AuthorControllerTest{
         		.firstName("Test")
         		.lastName("Surname").build();
         String json = objectMapper.writeValueAsString(authorDto);
-        when(this.authorService.update(authorDto)).thenReturn(1L);
+        when(this.authorService.update(authorDto, null)).thenReturn(1L);
 
         //when-then
         this.mockMvc.perform(put("/api/v1/authors/")
@@ -168,7 +172,7 @@ public class AuthorControllerTest{
         		.email("test@gmail.com")
         		.firstName("Test")
         		.lastName("Surname").build();
-        given(this.authorService.getAuthorById(authorId)).willReturn(authorDto);
+        given(this.authorService.getVersionedAuthorById(authorId)).willReturn(new Versioned<>(authorDto, "0"));
 
         //when-then
         this.mockMvc.perform(get("/api/v1/authors/"+authorId)
@@ -198,13 +202,44 @@ public class AuthorControllerTest{
         list.add(bookReponseDto);
         authorDto.setBooks(list);
         
-        given(this.authorService.getBooksByAuthorId(existingId)).willReturn(authorDto);
+        given(this.authorService.getVersionedBooksByAuthorId(existingId)).willReturn(new Versioned<>(authorDto, "0-1"));
 
         //when-then
         this.mockMvc.perform(get("/api/v1/books/authors/"+existingId)
                 .accept(APPLICATION_JSON_UTF8))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0-1\""));
+    }
+
+    @Test
+    @DisplayName("Test 9: delete many Authors, should return 204")
+    public void test_9_deleteAll_Authors_Should_Return_204() throws Exception {
+
+        //given
+        List<Long> authorIds = List.of(1L, 2L, 404L);
+        when(this.authorService.deleteAll(authorIds)).thenReturn(2);
+
+        //when-then
+        this.mockMvc.perform(delete("/api/v1/authors")
+                .contentType(APPLICATION_JSON_UTF8)
+                .content(objectMapper.writeValueAsString(authorIds)))
+                .andExpect(status().isNoContent());
+        verify(this.authorService).deleteAll(authorIds);
     }
 
+    @Test
+    @DisplayName("Test 10: get many Authors by ids, should return them in request order with the missing ids")
+    public void test_10_getAuthorsByIds_Should_Return_200() throws Exception {
+
+        //given
+        AuthorDto author = AuthorDto.builder().id(2L).email("test@gmail.com").firstName("Test").lastName("Surname").build();
+        given(this.authorService.getAll(List.of(2L, 404L))).willReturn(new AuthorMultiGetDto(List.of(author), List.of(404L)));
 
+        //when-then
+        this.mockMvc.perform(get("/api/v1/authors").param("ids", "2,404")
+                .accept(APPLICATION_JSON_UTF8))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authors[0].id", is(2)))
+                .andExpect(jsonPath("$.missing", contains(404)));
+    }
 }
@@ -1,11 +1,20 @@
 package com.vision.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.vision.api.config.BinaryFormatConfig;
 import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BatchItemResultDto;
 import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookMultiGetDto;
+import com.vision.api.dto.BookPageDto;
 import com.vision.api.exception.DuplicatedEntityException;
 import com.vision.api.exception.EntityNotFoundException;
+import com.vision.api.service.BatchService;
+import com.vision.api.service.BookSearchService;
 import com.vision.api.service.BookService;
+import com.vision.api.service.Versioned;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -14,15 +23,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.hamcrest.Matchers.*;
@@ -32,6 +48,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Consumer;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -49,13 +67,19 @@ public class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BatchService batchService;
+
+    @MockBean
+    private BookSearchService bookSearchService;
+
     @Test
     @DisplayName("Test 1: get Book, should return expected Book")
     public void test_1_get_Book_Should_Return_200() throws Exception {
 
         //given
         long bookId = 0L;
-        given(this.bookService.get(bookId)).willReturn(new BookDto());
+        given(this.bookService.getVersioned(bookId)).willReturn(new Versioned<>(new BookDto(), "0"));
 
         //when-then
         this.mockMvc.perform(get("/api/v1/books/"+bookId)
@@ -82,7 +106,7 @@ public class BookControllerTest {
 
         //given
         long nonExistentBookId = 404L;
-        given(this.bookService.get(nonExistentBookId))
+        given(this.bookService.getVersioned(nonExistentBookId))
                 .willThrow(new EntityNotFoundException("Book not found for book id: "+nonExistentBookId));
 
         //when-then
@@ -201,4 +225,122 @@ public class BookControllerTest {
                 .content(json))
                 .andExpect(status().isCreated());
     }
+
+    @Test
+    @DisplayName("Test 8: get Book page, should return Books and next cursor")
+    public void test_8_getBookPage_ShouldReturn_200() throws Exception {
+
+        //given
+        BookDto book = BookDto.builder().id(3L).title("test").genre("Drama").build();
+        given(this.bookService.page(2L, 1)).willReturn(new BookPageDto(Arrays.asList(book), 3L));
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books?limit=1&after=2")
+                .accept(APPLICATION_JSON_UTF8))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].id", is(3)))
+                .andExpect(jsonPath("$.next", is(3)));
+    }
+
+    @Test
+    @DisplayName("Test 9: stream Books as ndjson, should write one Book per line")
+    @SuppressWarnings("unchecked")
+    public void test_9_streamBooks_ShouldReturn_Ndjson() throws Exception {
+
+        //given
+        doAnswer(invocation -> {
+            Consumer<BookDto> consumer = invocation.getArgument(0);
+            consumer.accept(BookDto.builder().id(1L).title("one").build());
+            consumer.accept(BookDto.builder().id(2L).title("two").build());
+            return null;
+        }).when(this.bookService).stream(any(Consumer.class));
+
+        //when-then
+        MvcResult result = this.mockMvc.perform(get("/api/v1/books")
+                .accept(BookController.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("{\"id\":1,")))
+                .andExpect(content().string(containsString("}\n{\"id\":2,")));
+    }
+
+    @Test
+    @DisplayName("Test 10: get Book list without Accept header, should return json list")
+    public void test_10_getBookList_WithoutAccept_ShouldReturn_Json() throws Exception {
+
+        //given
+        given(this.bookService.list()).willReturn(new ArrayList<>());
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Test 11: batch create Books, should return one result per Book")
+    public void test_11_batchCreateBooks_ShouldReturn_200() throws Exception {
+
+        //given
+        BookDto book = BookDto.builder().title("test").genre("Drama").price(BigDecimal.TEN).build();
+        given(this.batchService.createBooks(Arrays.asList(book, book))).willReturn(Arrays.asList(
+                new BatchItemResultDto(0, 10L, BatchItemResultDto.Status.CREATED, null),
+                new BatchItemResultDto(1, null, BatchItemResultDto.Status.DUPLICATE, "duplicate")));
+
+        //when-then
+        this.mockMvc.perform(post("/api/v1/books:batch")
+                .contentType(APPLICATION_JSON_UTF8)
+                .content(objectMapper.writeValueAsString(Arrays.asList(book, book))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("DUPLICATE")));
+    }
+
+    @Test
+    @DisplayName("Test 12: get Book list with CBOR or Smile Accept header, should return the binary encoding")
+    public void test_12_getBookList_Binary_ShouldReturn_EncodedList() throws Exception {
+
+        //given
+        BookDto book = BookDto.builder().id(1L).title("VALIS").genre("Sci-Fi").price(BigDecimal.TEN).build();
+        given(this.bookService.list()).willReturn(Arrays.asList(book));
+
+        //when-then
+        byte[] cbor = this.mockMvc.perform(get("/api/v1/books")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        BookDto[] decoded = new ObjectMapper(new CBORFactory()).readValue(cbor, BookDto[].class);
+        assertEquals("VALIS", decoded[0].getTitle());
+
+        byte[] smile = this.mockMvc.perform(get("/api/v1/books")
+                .accept(BinaryFormatConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("VALIS", new ObjectMapper(new SmileFactory()).readValue(smile, BookDto[].class)[0].getTitle());
+    }
+
+    @Test
+    @DisplayName("Test 13: get Books by ids, should return them in request order with the missing ids")
+    public void test_13_getBooksByIds_ShouldReturn_BooksAndMissing() throws Exception {
+
+        //given
+        BookDto first = BookDto.builder().id(3L).title("A Scanner Darkly").genre("Sci-Fi").price(BigDecimal.TEN).build();
+        BookDto second = BookDto.builder().id(1L).title("The Man in the High Castle").genre("Sci-Fi").price(BigDecimal.TEN).build();
+        given(this.bookService.getAll(Arrays.asList(3L, 404L, 1L)))
+                .willReturn(new BookMultiGetDto(Arrays.asList(first, second), Arrays.asList(404L)));
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books").param("ids", "3,404,1")
+                .accept(APPLICATION_JSON_UTF8))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[*].id", contains(3, 1)))
+                .andExpect(jsonPath("$.missing", contains(404)));
+        this.mockMvc.perform(get("/api/v1/books").param("ids", "1").param("fields", "id")
+                .accept(APPLICATION_JSON_UTF8))
+                .andExpect(status().isBadRequest());
+    }
 }
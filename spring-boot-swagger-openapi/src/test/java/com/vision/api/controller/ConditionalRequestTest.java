@@ -0,0 +1,189 @@
+package com.vision.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.repository.BookRepository;
+import com.vision.api.service.BookService;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Conditional Request Integration Tests")
+public class ConditionalRequestTest {
+
+    private static final AuthorDto AUTHOR = AuthorDto.builder()
+            .id(3L).firstName("John").lastName("Doe").email("john.doe@acme.io").build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Long bookId;
+
+    @BeforeEach
+    public void init() {
+        bookId = bookService.create(book(null, "Conditional"));
+    }
+
+    @AfterEach
+    public void teardown() {
+        bookRepository.deleteById(bookId);
+    }
+
+    @Test
+    @DisplayName("Test 1: get Book with its current ETag, should return 304 without body")
+    public void test_1_getBook_WithCurrentETag_ShouldReturn_304() throws Exception {
+
+        //given
+        String etag = this.mockMvc.perform(get("/api/v1/books/" + bookId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books/" + bookId)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Test 2: update Book with If-Match, should reject a stale ETag and accept the current one")
+    public void test_2_updateBook_WithIfMatch_ShouldEnforceVersion() throws Exception {
+
+        //given
+        String json = objectMapper.writeValueAsString(book(bookId, "Conditional update"));
+
+        //when-then
+        this.mockMvc.perform(put("/api/v1/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"7\"")
+                .content(json))
+                .andExpect(status().isPreconditionFailed());
+        this.mockMvc.perform(put("/api/v1/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .content(json))
+                .andExpect(status().isCreated());
+        this.mockMvc.perform(get("/api/v1/books/" + bookId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    @DisplayName("Test 3: get Author Books, should change ETag when one of the Books changes")
+    public void test_3_getAuthorBooks_ShouldChangeETag_WhenBookChanges() throws Exception {
+
+        //given
+        String before = this.mockMvc.perform(get("/api/v1/books/authors/3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        this.mockMvc.perform(get("/api/v1/books/authors/3")
+                .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isNotModified());
+
+        //when
+        bookService.update(book(bookId, "Conditional rename"));
+
+        //then
+        String after = this.mockMvc.perform(get("/api/v1/books/authors/3")
+                .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    @DisplayName("Test 4: get Author Books, should take one select for a 200 and one for a 304")
+    public void test_4_getAuthorBooks_ShouldTakeOneSelect() throws Exception {
+
+        //when
+        QueryCountHolder.clear();
+        String etag = this.mockMvc.perform(get("/api/v1/books/authors/3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        long selects = QueryCountHolder.getGrandTotal().getSelect();
+        QueryCountHolder.clear();
+        this.mockMvc.perform(get("/api/v1/books/authors/3")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        //then
+        assertEquals(1, selects);
+        assertEquals(1, QueryCountHolder.getGrandTotal().getSelect());
+    }
+
+    @Test
+    @DisplayName("Test 5: get Book as CBOR, should vary by Accept and tag the CBOR representation")
+    public void test_5_getBookAsCbor_ShouldTagRepresentation() throws Exception {
+
+        //given
+        String etag = this.mockMvc.perform(get("/api/v1/books/" + bookId)
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-cbor\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books/" + bookId)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        this.mockMvc.perform(get("/api/v1/books/" + bookId)
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        this.mockMvc.perform(put("/api/v1/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, etag)
+                .content(objectMapper.writeValueAsString(book(bookId, "Conditional CBOR update"))))
+                .andExpect(status().isCreated());
+    }
+
+    private static BookDto book(Long id, String title) {
+        return BookDto.builder()
+                .id(id)
+                .title(title)
+                .genre("Drama")
+                .price(BigDecimal.TEN)
+                .author(AUTHOR)
+                .build();
+    }
+}
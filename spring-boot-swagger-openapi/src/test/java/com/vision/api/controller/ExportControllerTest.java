@@ -0,0 +1,83 @@
+package com.vision.api.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Export Resource Integration Tests")
+public class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Test 1: export Books as NDJSON filtered by genre and author, should stream matching Books")
+    public void test_1_exportBooks_Ndjson_ShouldReturn_FilteredLines() throws Exception {
+
+        //when
+        MvcResult result = this.mockMvc.perform(get("/api/v1/export/books?genre=Terror&authorId=2")
+                .accept(BookController.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        String body = this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, BookController.APPLICATION_NDJSON))
+                .andExpect(content().string(startsWith("{\"id\":5,\"title\":\"Carrie\"")))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(4, lines.length);
+        for (String line : lines) {
+            assertTrue(line.contains("\"genre\":\"Terror\"") && line.contains("\"email\":\"stking@darktower.it\""));
+        }
+    }
+
+    @Test
+    @DisplayName("Test 2: export Books as gzipped CSV, should return a compressed CSV with header")
+    public void test_2_exportBooks_GzipCsv_ShouldReturn_CompressedCsv() throws Exception {
+
+        //when
+        MvcResult result = this.mockMvc.perform(get("/api/v1/export/books?authorId=1")
+                .accept(ExportController.TEXT_CSV)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        byte[] compressed = this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\n");
+        assertEquals("id,title,description,genre,price,authorId,authorFirstName,authorLastName,authorEmail", lines[0]);
+        assertTrue(lines[1].startsWith("1,\"The Man in the High Castle\",,Sci-Fi,"), lines[1]);
+        assertTrue(lines[1].endsWith(",1,\"Philip K\",Dick,editor@nexus.corp"), lines[1]);
+    }
+}
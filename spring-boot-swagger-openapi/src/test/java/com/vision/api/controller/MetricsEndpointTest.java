@@ -0,0 +1,49 @@
+package com.vision.api.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Metrics Endpoint Integration Tests")
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Test 1: scrape Prometheus endpoint, should expose endpoint, service, repository, Hibernate and pool metrics")
+    public void test_1_scrapePrometheus_ShouldReturn_Timers() throws Exception {
+
+        //given
+        this.mockMvc.perform(get("/api/v1/books/1"))
+                .andExpect(status().isOk());
+
+        //when-then
+        this.mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/v1/books/{id}\"")))
+                .andExpect(content().string(containsString("vision_service_seconds{")))
+                .andExpect(content().string(containsString("class=\"com.vision.api.service.BookService\"")))
+                .andExpect(content().string(containsString("quantile=\"0.99\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+}
@@ -0,0 +1,91 @@
+package com.vision.api.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.tokens-per-second=0.1",
+        "rate-limit.burst=5",
+        "rate-limit.api-keys=flooder,reader,pager",
+        "rate-limit.costs.[GET\\ /api/v1/books]=5",
+        "rate-limit.costs.[GET\\ /api/v1/books?limit]=2" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Rate Limit Integration Tests")
+public class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Test 1: given a client that spent its tokens, when request again, then 429 with Retry-After")
+    public void test_1_givenSpentTokens_whenRequest_Then429() throws Exception {
+
+        //given
+        this.mockMvc.perform(get("/api/v1/books").header("X-API-Key", "flooder"))
+                .andExpect(status().isOk());
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books").header("X-API-Key", "flooder"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", is("50")))
+                .andExpect(jsonPath("$.statusCode", is(429)));
+        this.mockMvc.perform(get("/api/v1/books/1").header("X-API-Key", "flooder"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Test 2: given endpoint costs, when another client requests cheap endpoints, then it has its own bucket")
+    public void test_2_givenCosts_whenOtherClientRequestsCheapEndpoints_ThenAdmitted() throws Exception {
+
+        //when-then
+        for (int i = 0; i < 5; i++) {
+            this.mockMvc.perform(get("/api/v1/books/1").header("X-API-Key", "reader"))
+                    .andExpect(status().isOk());
+        }
+        this.mockMvc.perform(get("/api/v1/books/1").header("X-API-Key", "reader"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Test 3: given a cost keyed by query parameter, when request keyset pages, then they cost less than the full list")
+    public void test_3_givenParameterCost_whenRequestPages_ThenCheaperThanList() throws Exception {
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books?limit=2").header("X-API-Key", "pager"))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/v1/books?limit=2&after=2").header("X-API-Key", "pager"))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/v1/books").header("X-API-Key", "pager"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Test 4: given unknown API keys, when one address rotates them, then they share the bucket of the address")
+    public void test_4_givenUnknownKeys_whenRotated_ThenAddressBucketApplies() throws Exception {
+
+        //when-then
+        for (int i = 0; i < 5; i++) {
+            this.mockMvc.perform(get("/api/v1/books/1").header("X-API-Key", "made-up-" + i))
+                    .andExpect(status().isOk());
+        }
+        this.mockMvc.perform(get("/api/v1/books/1").header("X-API-Key", "made-up-5"))
+                .andExpect(status().isTooManyRequests());
+        this.mockMvc.perform(get("/api/v1/books/1"))
+                .andExpect(status().isTooManyRequests());
+    }
+}
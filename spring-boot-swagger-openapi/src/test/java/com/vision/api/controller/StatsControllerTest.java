@@ -0,0 +1,90 @@
+package com.vision.api.controller;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.service.AuthorService;
+import com.vision.api.service.BookService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Stats Resource Integration Tests")
+public class StatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    @DisplayName("Test 1: given Books created and updated, stats should follow each change")
+    public void test_1_givenBookChanges_StatsShouldFollow() throws Exception {
+
+        //given
+        Long authorId = authorService.create(AuthorDto.builder().firstName("Iain").lastName("Banks").email("iain@culture.org").build());
+        AuthorDto author = AuthorDto.builder().id(authorId).build();
+        bookService.create(book(null, "Consider Phlebas", "12.00", author));
+        Long bookId = bookService.create(book(null, "Excession", "8.00", author));
+        bookService.create(book(null, "Look to Windward", "10.00", author));
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/stats/authors/" + authorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books", is(3)))
+                .andExpect(jsonPath("$.averagePrice").value(10.0))
+                .andExpect(jsonPath("$.minPrice").value(8.0))
+                .andExpect(jsonPath("$.maxPrice").value(12.0));
+
+        bookService.update(book(bookId, "Excession", "20.00", author));
+        this.mockMvc.perform(get("/api/v1/stats/genres"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Culture.books", is(3)))
+                .andExpect(jsonPath("$.Culture.minPrice").value(10.0))
+                .andExpect(jsonPath("$.Culture.maxPrice").value(20.0));
+
+        authorService.delete(authorId);
+        this.mockMvc.perform(get("/api/v1/stats/genres"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Culture").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Test 2: get stats of an unknown Author, should return 404")
+    public void test_2_getAuthorStats_UnknownAuthor_ShouldReturn_404() throws Exception {
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/stats/authors/404404"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static BookDto book(Long id, String title, String price, AuthorDto author) {
+        return BookDto.builder()
+                .id(id)
+                .title(title)
+                .genre("Culture")
+                .price(new BigDecimal(price))
+                .author(author)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.vision.api.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vision.api.service.BookExportService;
+import com.vision.api.service.FeedFormat;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Streaming Timeout Integration Tests")
+public class StreamingTimeoutTest {
+
+    // stands in for Tomcat's 30 s default, so the test does not take half a minute
+    private static final long CONTAINER_ASYNC_TIMEOUT_MILLIS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private BookExportService bookExportService;
+
+    @TestConfiguration
+    static class ShortContainerTimeout {
+
+        @Bean
+        public WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortAsyncTimeout() {
+            return factory -> factory.addConnectorCustomizers(connector -> connector.setAsyncTimeout(CONTAINER_ASYNC_TIMEOUT_MILLIS));
+        }
+    }
+
+    @Test
+    @DisplayName("Test 1: export streaming longer than the container async timeout, should return every line")
+    public void test_1_exportLongerThanContainerTimeout_ShouldComplete() throws Exception {
+
+        //given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Thread.sleep(4 * CONTAINER_ASYNC_TIMEOUT_MILLIS);
+            out.write("{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookExportService).export(eq(FeedFormat.NDJSON), isNull(), isNull(), any(OutputStream.class));
+
+        //when
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/export/books")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        //then
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", response.body());
+    }
+}
@@ -0,0 +1,57 @@
+package com.vision.api.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("UnitTest")
+@DisplayName("Adaptive Concurrency Limit Unit Tests")
+public class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    @DisplayName("Test 1: given the limit in flight, when acquire, then the request is refused")
+    void test_1_givenLimitInFlight_whenAcquire_ThenRefused() {
+
+        //given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+        assertEquals(1, limit.tryAcquire());
+        assertEquals(2, limit.tryAcquire());
+
+        //when-then
+        assertEquals(-1, limit.tryAcquire());
+        limit.release(System.nanoTime(), 2);
+        assertEquals(2, limit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Test 2: given latency rising under load, when samples are recorded, then the limit shrinks")
+    void test_2_givenRisingLatency_whenSampled_ThenLimitShrinks() {
+
+        //given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 5, 100);
+        for (int i = 0; i < 200; i++) {
+            sample(limit, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        int steady = limit.getLimit();
+        assertTrue(steady >= 50);
+
+        //when
+        for (int i = 0; i < 50; i++) {
+            sample(limit, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        //then
+        assertTrue(limit.getLimit() < steady / 2, "limit " + limit.getLimit() + " after " + steady);
+    }
+
+    // a request that was admitted with the limit fully in use and took rttNanos
+    private static void sample(AdaptiveConcurrencyLimit limit, long rttNanos) {
+        int inflight = limit.getLimit();
+        limit.tryAcquire();
+        limit.release(System.nanoTime() - rttNanos, inflight);
+    }
+}
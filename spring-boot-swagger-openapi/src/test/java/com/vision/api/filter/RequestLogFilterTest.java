@@ -0,0 +1,85 @@
+package com.vision.api.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("UnitTest")
+@DisplayName("Request Log Filter Unit Tests")
+public class RequestLogFilterTest {
+
+    private final RequestLogFilter filter = new RequestLogFilter(Map.of("GET /api/v1/books/*", 0.0));
+    private final SamplingTurboFilter turboFilter = new SamplingTurboFilter();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestLogFilterTest.class);
+
+    @Test
+    @DisplayName("Test 1: given a correlation id, when a request is filtered, then it is in the MDC and echoed")
+    void test_1_givenCorrelationId_whenFiltered_ThenInMdcAndEchoed() throws Exception {
+
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/books");
+        request.addHeader(RequestLogFilter.CORRELATION_ID_HEADER, "order-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Map<String, String> seen = new HashMap<>();
+
+        //when
+        filter.doFilter(request, response, (req, res) -> seen.putAll(MDC.getCopyOfContextMap()));
+
+        //then
+        assertEquals("order-42", seen.get(RequestLogFilter.CORRELATION_ID));
+        assertFalse(seen.containsKey(SamplingTurboFilter.UNSAMPLED));
+        assertEquals("order-42", response.getHeader(RequestLogFilter.CORRELATION_ID_HEADER));
+        assertNull(MDC.get(RequestLogFilter.CORRELATION_ID));
+    }
+
+    @Test
+    @DisplayName("Test 2: given an unusable correlation id, when a request is filtered, then a new one is generated")
+    void test_2_givenUnusableCorrelationId_whenFiltered_ThenGenerated() throws Exception {
+
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/authors/1");
+        request.addHeader(RequestLogFilter.CORRELATION_ID_HEADER, "a b\nforged log line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        filter.doFilter(request, response, (req, res) -> { });
+
+        //then
+        String correlationId = response.getHeader(RequestLogFilter.CORRELATION_ID_HEADER);
+        assertNotNull(correlationId);
+        assertTrue(correlationId.matches("[0-9a-f]{1,16}"));
+    }
+
+    @Test
+    @DisplayName("Test 3: given an unsampled endpoint, when logging during the request, then only warnings pass")
+    void test_3_givenUnsampledEndpoint_whenLogging_ThenOnlyWarningsPass() throws Exception {
+
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books/1");
+        Map<Level, FilterReply> replies = new HashMap<>();
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            replies.put(Level.INFO, turboFilter.decide(null, logger, Level.INFO, "GET {}", null, null));
+            replies.put(Level.WARN, turboFilter.decide(null, logger, Level.WARN, "slow {}", null, null));
+        });
+
+        //then
+        assertEquals(FilterReply.DENY, replies.get(Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, replies.get(Level.WARN));
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, logger, Level.INFO, "after {}", null, null));
+    }
+}
@@ -0,0 +1,49 @@
+package com.vision.api.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("UnitTest")
+@DisplayName("Token Buckets Unit Tests")
+public class TokenBucketsTest {
+
+    @Test
+    @DisplayName("Test 1: given a spent bucket, when acquire again, then the wait until refill is returned")
+    void test_1_givenSpentBucket_whenAcquire_ThenWait() {
+
+        //given
+        TokenBuckets buckets = new TokenBuckets(1, 2, 100);
+        assertEquals(0, buckets.tryAcquire("client", 2));
+
+        //when
+        long waitNanos = buckets.tryAcquire("client", 1);
+
+        //then
+        assertTrue(waitNanos > 0 && waitNanos <= TimeUnit.SECONDS.toNanos(1), "wait " + waitNanos);
+        assertEquals(0, buckets.tryAcquire("other", 1));
+    }
+
+    @Test
+    @DisplayName("Test 2: given more clients than the limit, when acquire, then full buckets are swept at most once per interval")
+    void test_2_givenTooManyClients_whenAcquire_ThenSweptOncePerInterval() throws InterruptedException {
+
+        //given
+        TokenBuckets buckets = new TokenBuckets(1_000_000, 1, 0);
+        for (int i = 0; i < 100; i++) {
+            buckets.tryAcquire("client-" + i, 1);
+        }
+        assertTrue(buckets.size() >= 99, "size " + buckets.size());
+
+        //when
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(TokenBuckets.SWEEP_INTERVAL_NANOS) + 50);
+        buckets.tryAcquire("late", 1);
+
+        //then
+        assertTrue(buckets.size() <= 1, "size " + buckets.size());
+    }
+}
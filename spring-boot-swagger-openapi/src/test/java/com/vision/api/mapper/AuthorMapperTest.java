@@ -0,0 +1,83 @@
+package com.vision.api.mapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.AuthorResponseDto;
+import com.vision.api.model.Author;
+import com.vision.api.model.Book;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ActiveProfiles("test")
+@Tag("UnitTest")
+@DisplayName("Author Generated Mapper Unit Tests")
+public class AuthorMapperTest {
+
+    private AuthorMapper authorMapper = new AuthorMapperImpl();
+    private ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    @DisplayName("Test 1: when convert Author entity to Author dto, then same as ModelMapper")
+    public void test_1_whenConvert_AuthorEntity_To_AuthorDto_thenSameAsModelMapper() {
+
+        //given
+        Author author = Author.builder().id(1L).email("test@com.vision.api.com").firstName("Test").lastName("Surname").build();
+
+        //when
+        AuthorDto authorDto = authorMapper.toDto(author);
+
+        //then
+        assertEquals(modelMapper.map(author, AuthorDto.class), authorDto);
+    }
+
+    @Test
+    @DisplayName("Test 2: when convert Author dto to Author entity, then correct")
+    public void test_2_whenConvert_AuthorDto_To_AuthorEntity_thenCorrect() {
+
+        //given
+        AuthorDto authorDto = AuthorDto.builder().id(1L).email("test@com.vision.api.com").firstName("Test").lastName("Surname").build();
+
+        //when
+        Author author = authorMapper.toEntity(authorDto);
+
+        //then
+        assertEquals(authorDto.getId(), author.getId());
+        assertEquals(authorDto.getFirstName(), author.getFirstName());
+        assertEquals(authorDto.getLastName(), author.getLastName());
+        assertEquals(authorDto.getEmail(), author.getEmail());
+        assertNull(author.getBooks());
+    }
+
+    @Test
+    @DisplayName("Test 3: when convert Author entity with Books to AuthorResponseDto, then correct")
+    public void test_3_whenConvert_AuthorEntity_To_AuthorResponseDto_thenCorrect() {
+
+        //given
+        Author author = Author.builder().id(1L).email("test@com.vision.api.com").firstName("Test").lastName("Surname").build();
+        Book book = Book.builder().id(2L).title("Example").description("desc").genre("Comedy").price(BigDecimal.TEN).author(author).build();
+        author.setBooks(Arrays.asList(book));
+
+        //when
+        AuthorResponseDto authorResponseDto = authorMapper.toResponseDto(author);
+
+        //then
+        assertEquals(author.getId(), authorResponseDto.getId());
+        assertEquals(author.getFirstName(), authorResponseDto.getFirstName());
+        assertEquals(author.getLastName(), authorResponseDto.getLastName());
+        assertEquals(author.getEmail(), authorResponseDto.getEmail());
+        assertEquals(1, authorResponseDto.getBooks().size());
+        assertEquals(book.getId(), authorResponseDto.getBooks().get(0).getId());
+        assertEquals(book.getTitle(), authorResponseDto.getBooks().get(0).getTitle());
+        assertEquals(book.getGenre(), authorResponseDto.getBooks().get(0).getGenre());
+        assertEquals(book.getPrice(), authorResponseDto.getBooks().get(0).getPrice());
+    }
+}
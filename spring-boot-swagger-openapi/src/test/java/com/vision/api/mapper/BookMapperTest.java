@@ -0,0 +1,60 @@
+package com.vision.api.mapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.model.Author;
+import com.vision.api.model.Book;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@Tag("UnitTest")
+@DisplayName("Book Generated Mapper Unit Tests")
+public class BookMapperTest {
+
+    private BookMapper bookMapper = new BookMapperImpl(new AuthorMapperImpl());
+    private ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    @DisplayName("Test 1: when convert Book entity to Book dto, then same as ModelMapper")
+    public void test_1_whenConvert_BookEntity_To_BookDto_thenSameAsModelMapper() {
+
+        //given
+        Author author = Author.builder().id(1L).email("test@com.vision.api.com").firstName("Test").lastName("Surname").build();
+        Book book = Book.builder().id(1L).title("Example").description("desc").genre("Comedy").price(BigDecimal.TEN).author(author).build();
+
+        //when
+        BookDto bookDto = bookMapper.toDto(book);
+
+        //then
+        assertEquals(modelMapper.map(book, BookDto.class), bookDto);
+    }
+
+    @Test
+    @DisplayName("Test 2: when convert Book dto to Book entity, then author reference is kept")
+    public void test_2_whenConvert_BookDto_To_BookEntity_thenCorrect() {
+
+        //given
+        AuthorDto authorDto = AuthorDto.builder().id(1L).email("test@com.vision.api.com").firstName("Test").lastName("Surname").build();
+        BookDto bookDto = BookDto.builder().id(1L).title("Example").description("desc").genre("Comedy").price(BigDecimal.TEN).author(authorDto).build();
+
+        //when
+        Book book = bookMapper.toEntity(bookDto);
+
+        //then
+        assertEquals(bookDto.getId(), book.getId());
+        assertEquals(bookDto.getTitle(), book.getTitle());
+        assertEquals(bookDto.getDescription(), book.getDescription());
+        assertEquals(bookDto.getGenre(), book.getGenre());
+        assertEquals(bookDto.getPrice(), book.getPrice());
+        assertEquals(authorDto.getId(), book.getAuthor().getId());
+    }
+}
@@ -0,0 +1,151 @@
+package com.vision.api.repository;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BatchItemResultDto;
+import com.vision.api.dto.BatchItemResultDto.Status;
+import com.vision.api.dto.BookDto;
+import com.vision.api.model.Author;
+import com.vision.api.model.Book;
+import com.vision.api.service.BatchService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Batch Insert Integration Tests")
+public class BatchInsertTest {
+
+    @Autowired
+    private BatchService batchService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final List<Long> authorIds = new ArrayList<>();
+    private final List<Long> bookIds = new ArrayList<>();
+
+    @AfterEach
+    public void teardown() {
+        bookRepository.deleteAllById(bookIds);
+        authorRepository.deleteAllById(authorIds);
+    }
+
+    @Test
+    @DisplayName("Test 1: when batch creating Authors, then each Author gets its own result")
+    public void test_1_whenBatchCreatingAuthors_thenPerItemResults() {
+        long initialCount = authorRepository.count();
+        List<AuthorDto> authors = Arrays.asList(
+                AuthorDto.builder().firstName("Batch").lastName("One").email("batch1@com.vision.api.com").build(),
+                AuthorDto.builder().lastName("Two").email("batch2@com.vision.api.com").build(),
+                AuthorDto.builder().firstName("Batch").lastName("Three").email("stking@darktower.it").build(),
+                AuthorDto.builder().firstName("Batch").lastName("Four").email("batch1@com.vision.api.com").build(),
+                AuthorDto.builder().firstName("Batch").lastName("Five").email("batch5@com.vision.api.com").build());
+
+        List<BatchItemResultDto> results = batchService.createAuthors(authors);
+        authorIds.addAll(createdIds(results));
+
+        assertEquals(Arrays.asList(Status.CREATED, Status.INVALID, Status.DUPLICATE, Status.DUPLICATE, Status.CREATED),
+                results.stream().map(BatchItemResultDto::getStatus).collect(Collectors.toList()));
+        assertTrue(results.get(1).getMessage().contains("First name is mandatory"));
+        assertEquals(initialCount + 2, authorRepository.count());
+        assertEquals("batch5@com.vision.api.com", authorRepository.findById(results.get(4).getId()).map(Author::getEmail).orElse(null));
+    }
+
+    @Test
+    @DisplayName("Test 2: when batch creating Books, then each Book gets its own result")
+    public void test_2_whenBatchCreatingBooks_thenPerItemResults() {
+        long initialCount = bookRepository.count();
+        AuthorDto existingAuthor = AuthorDto.builder().id(1L).firstName("Philip").lastName("Dick").email("editor@nexus.corp").build();
+        AuthorDto missingAuthor = AuthorDto.builder().id(404404L).firstName("No").lastName("One").email("no.one@com.vision.api.com").build();
+        List<BookDto> books = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            books.add(BookDto.builder().title("batch" + i).genre("Sci-Fi").price(BigDecimal.TEN).author(existingAuthor).build());
+        }
+        books.add(BookDto.builder().id(1L).title("duplicate").genre("Sci-Fi").price(BigDecimal.TEN).author(existingAuthor).build());
+        books.add(BookDto.builder().title("orphan").genre("Sci-Fi").price(BigDecimal.TEN).author(missingAuthor).build());
+        books.add(BookDto.builder().title("cheap").genre("Sci-Fi").price(BigDecimal.ZERO).author(existingAuthor).build());
+
+        List<BatchItemResultDto> results = batchService.createBooks(books);
+        bookIds.addAll(createdIds(results));
+
+        assertEquals(Arrays.asList(Status.CREATED, Status.CREATED, Status.CREATED, Status.DUPLICATE, Status.NOT_FOUND, Status.INVALID),
+                results.stream().map(BatchItemResultDto::getStatus).collect(Collectors.toList()));
+        assertEquals(initialCount + 3, bookRepository.count());
+        assertTrue(bookRepository.findByAuthorId(1L).stream().anyMatch(book -> "batch2".equals(book.getTitle())));
+    }
+
+    @Test
+    @DisplayName("Test 3: when batch creating with ids, then the ids are kept and repeated ids are duplicates")
+    public void test_3_whenBatchCreatingWithIds_thenIdsKept() {
+        List<AuthorDto> authors = Arrays.asList(
+                AuthorDto.builder().id(7700L).firstName("Batch").lastName("Six").email("batch6@com.vision.api.com").build(),
+                AuthorDto.builder().id(7700L).firstName("Batch").lastName("Seven").email("batch7@com.vision.api.com").build());
+        AuthorDto author = AuthorDto.builder().id(7700L).build();
+        List<BookDto> books = Arrays.asList(
+                BookDto.builder().title("generated").genre("Sci-Fi").price(BigDecimal.TEN).author(author).build(),
+                BookDto.builder().id(77000L).title("supplied").genre("Sci-Fi").price(BigDecimal.TEN).author(author).build(),
+                BookDto.builder().id(77000L).title("repeated").genre("Sci-Fi").price(BigDecimal.TEN).author(author).build());
+
+        List<BatchItemResultDto> authorResults = batchService.createAuthors(authors);
+        authorIds.addAll(createdIds(authorResults));
+        List<BatchItemResultDto> bookResults = batchService.createBooks(books);
+        bookIds.addAll(createdIds(bookResults));
+
+        assertEquals(Arrays.asList(Status.CREATED, Status.DUPLICATE),
+                authorResults.stream().map(BatchItemResultDto::getStatus).collect(Collectors.toList()));
+        assertEquals(7700L, authorResults.get(0).getId());
+        assertEquals(Arrays.asList(Status.CREATED, Status.CREATED, Status.DUPLICATE),
+                bookResults.stream().map(BatchItemResultDto::getStatus).collect(Collectors.toList()));
+        assertEquals(77000L, bookResults.get(1).getId());
+        assertEquals("supplied", bookRepository.findById(77000L).map(Book::getTitle).orElse(null));
+        assertEquals("generated", bookRepository.findById(bookResults.get(0).getId()).map(Book::getTitle).orElse(null));
+    }
+
+    @Test
+    @DisplayName("Test 4: when batch creating with ids next to the generated ones, then generated ids go past them")
+    public void test_4_whenBatchCreatingWithAdjacentIds_thenGeneratedIdsGoPast() {
+        AuthorDto author = AuthorDto.builder().id(1L).build();
+        BatchItemResultDto probe = batchService.createBooks(List.of(
+                BookDto.builder().title("probe").genre("Sci-Fi").price(BigDecimal.TEN).author(author).build())).get(0);
+        bookIds.add(probe.getId());
+        long next = probe.getId() + 1;
+        List<BookDto> books = Arrays.asList(
+                BookDto.builder().title("generated").genre("Sci-Fi").price(BigDecimal.TEN).author(author).build(),
+                BookDto.builder().id(next).title("supplied").genre("Sci-Fi").price(BigDecimal.TEN).author(author).build(),
+                BookDto.builder().id(next + 1).title("supplied next").genre("Sci-Fi").price(BigDecimal.TEN).author(author).build());
+
+        List<BatchItemResultDto> results = batchService.createBooks(books);
+        bookIds.addAll(createdIds(results));
+
+        assertEquals(Arrays.asList(Status.CREATED, Status.CREATED, Status.CREATED),
+                results.stream().map(BatchItemResultDto::getStatus).collect(Collectors.toList()));
+        assertTrue(results.get(0).getId() > next + 1);
+        assertEquals("supplied", bookRepository.findById(next).map(Book::getTitle).orElse(null));
+        assertEquals("generated", bookRepository.findById(results.get(0).getId()).map(Book::getTitle).orElse(null));
+    }
+
+    private List<Long> createdIds(List<BatchItemResultDto> results) {
+        return results.stream()
+                .filter(result -> result.getStatus() == Status.CREATED)
+                .map(BatchItemResultDto::getId)
+                .collect(Collectors.toList());
+    }
+}
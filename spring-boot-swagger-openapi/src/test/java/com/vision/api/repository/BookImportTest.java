@@ -0,0 +1,135 @@
+package com.vision.api.repository;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vision.api.dto.ImportResultDto;
+import com.vision.api.service.BookImportService;
+import com.vision.api.service.FeedFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Book Import Integration Tests")
+public class BookImportTest {
+
+    private static final String NDJSON = String.join("\n",
+            "{\"title\":\"import-1\",\"genre\":\"Horror\",\"price\":9.99,\"authorEmail\":\"stking@darktower.it\"}",
+            "{\"title\":\"import-2\",\"genre\":\"Horror\",\"price\":9.99,\"authorEmail\":\"stking@darktower.it\"}",
+            "{\"title\":\"import-3\",\"genre\":\"Horror\",\"price\":9.99,\"authorEmail\":\"nobody@nowhere.com\"}",
+            "{\"title\":\"import-4\",\"genre\":\"Sci-Fi\",\"price\":9.99,\"authorEmail\":\"editor@nexus.corp\"}",
+            "{\"title\":\"import-5\",\"genre\":\"Sci-Fi\",\"price\":9.99,\"authorEmail\":\"editor@nexus.corp\"}");
+
+    private static final String CSV = String.join("\n",
+            "title,description,genre,price,authorEmail",
+            "import-6,First,Horror,5.50,stking@darktower.it",
+            "import-7,Second,,5.50,stking@darktower.it",
+            "import-8,Third,Sci-Fi,5.50,editor@nexus.corp");
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void teardown() {
+        jdbcTemplate.update("delete from book where title like 'import-%'");
+        jdbcTemplate.update("delete from import_checkpoint");
+    }
+
+    @Test
+    @DisplayName("Test 1: when importing NDJSON, then known authors are imported and unknown ones rejected")
+    public void test_1_whenImportingNdjson_thenRowsImported() {
+        //given
+        long initialCount = bookRepository.count();
+
+        //when
+        ImportResultDto result = bookImportService.importBooks("ndjson-job", stream(NDJSON), FeedFormat.NDJSON, 2);
+
+        //then
+        assertEquals(0, result.getResumedFrom());
+        assertEquals(4, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(initialCount + 4, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test 2: when re-running a finished job, then it resumes after the last checkpoint")
+    public void test_2_whenRerunningJob_thenNothingImportedTwice() {
+        //given
+        bookImportService.importBooks("resumed-job", stream(NDJSON), FeedFormat.NDJSON, 2);
+        long countAfterFirstRun = bookRepository.count();
+
+        //when
+        ImportResultDto result = bookImportService.importBooks("resumed-job", stream(NDJSON), FeedFormat.NDJSON, 2);
+
+        //then
+        assertEquals(5, result.getResumedFrom());
+        assertEquals(0, result.getImported());
+        assertEquals(countAfterFirstRun, bookRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test 3: when importing CSV, then incomplete rows are rejected")
+    public void test_3_whenImportingCsv_thenIncompleteRowsRejected() {
+        //when
+        ImportResultDto result = bookImportService.importBooks("csv-job", stream(CSV), FeedFormat.CSV);
+
+        //then
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+    }
+
+    @Test
+    @DisplayName("Test 4: when importing rows that break the Book constraints or do not parse, then they are rejected and the job completes")
+    public void test_4_whenImportingInvalidRows_thenRejectedAndCheckpointed() {
+        //given
+        String csv = String.join("\n",
+                "title,description,genre,price,authorEmail",
+                "import-9,Fine,Horror,5.50,stking@darktower.it",
+                "import-" + "x".repeat(100) + ",Too long,Horror,5.50,stking@darktower.it",
+                "import-10,Not a price,Horror,abc,stking@darktower.it",
+                "import-11,Negative,Horror,-1,stking@darktower.it",
+                "import-12,No price,Horror,,stking@darktower.it");
+
+        //when
+        ImportResultDto result = bookImportService.importBooks("invalid-job", stream(csv), FeedFormat.CSV, 2);
+        ImportResultDto rerun = bookImportService.importBooks("invalid-job", stream(csv), FeedFormat.CSV, 2);
+
+        //then
+        assertEquals(1, result.getImported());
+        assertEquals(4, result.getRejected());
+        assertEquals(5, rerun.getResumedFrom());
+        assertEquals(0, rerun.getRejected());
+    }
+
+    @Test
+    @DisplayName("Test 5: when importing with a huge chunk size, then it is clamped and every chunk keeps its authors")
+    public void test_5_whenImportingWithHugeChunkSize_thenClamped() {
+        //when
+        ImportResultDto result = bookImportService.importBooks("huge-chunk-job", stream(NDJSON), FeedFormat.NDJSON, Integer.MAX_VALUE);
+
+        //then
+        assertEquals(4, result.getImported());
+        assertEquals(1, result.getRejected());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
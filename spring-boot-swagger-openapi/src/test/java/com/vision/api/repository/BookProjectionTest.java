@@ -0,0 +1,73 @@
+package com.vision.api.repository;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Book Projection Integration Tests")
+public class BookProjectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Test 1: given fields, when get Book, then only those fields are written")
+    public void test_1_givenFields_whenGetBook_ThenOnlyThoseFieldsWritten() throws Exception {
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books/5?fields=title,author.id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Carrie")))
+                .andExpect(jsonPath("$.author.id", is(2)))
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.genre").doesNotExist())
+                .andExpect(jsonPath("$.author.email").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Test 2: given author fields, when list Books, then author fields are nested under author")
+    public void test_2_givenAuthorFields_whenListBooks_ThenAuthorNested() throws Exception {
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books?fields=author.lastName,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].author.lastName", is("Dick")))
+                .andExpect(jsonPath("$[0].title").doesNotExist())
+                .andExpect(jsonPath("$[0].author.id").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Test 3: given fields, when get Books by Author, then each Book carries only those fields")
+    public void test_3_givenFields_whenGetBooksByAuthor_ThenBooksProjected() throws Exception {
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books/authors/2?fields=title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName", is("King")))
+                .andExpect(jsonPath("$.books[*].title", hasItems("Carrie", "Misery")))
+                .andExpect(jsonPath("$.books[0].price").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Test 4: given an unknown field, when list Books, then bad request")
+    public void test_4_givenUnknownField_whenListBooks_ThenBadRequest() throws Exception {
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books?fields=title,isbn"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("isbn")));
+    }
+}
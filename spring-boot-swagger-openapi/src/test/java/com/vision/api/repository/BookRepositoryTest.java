@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,8 +17,11 @@ import com.vision.api.repository.BookRepository;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -32,6 +36,10 @@ public class BookRepositoryTest {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Author author;
     private Book book1;
     private Book book2;
     private long initialCount;
@@ -39,9 +47,9 @@ public class BookRepositoryTest {
     @BeforeEach
     public void init() {
 
-        Author author = authorRepository.findById(0L).orElseGet(
+        author = authorRepository.findById(0L).orElseGet(
                 () -> {
-                    Author authorAux = Author.builder().email("test@com.vision.api.com").firstName("Test").lastName("Surname").build();
+                    Author authorAux = Author.builder().email("test" + System.nanoTime() + "@com.vision.api.com").firstName("Test").lastName("Surname").build();
                     return authorRepository.save(authorAux);
                 });
 
@@ -82,4 +90,21 @@ public class BookRepositoryTest {
 
         assertEquals(initialCount, bookRepository.count());
     }
+
+    @Test
+    @DisplayName("Test 4: when find by author id, then only the author's Books are returned")
+    public void test_4_when_FindByAuthorId_then_OnlyAuthorBooks_AreReturned() {
+        List<Book> books = bookRepository.findByAuthorId(author.getId());
+
+        assertEquals(2, books.size());
+        assertTrue(books.stream().allMatch(book -> author.getId().equals(book.getAuthor().getId())));
+    }
+
+    @Test
+    @DisplayName("Test 5: when lookup by author id, then an index is used instead of a table scan")
+    public void test_5_when_LookupByAuthorId_then_Index_IsUsed() {
+        String plan = jdbcTemplate.queryForObject("explain select * from book where author_id = " + author.getId(), String.class);
+
+        assertFalse(plan.toLowerCase().contains("tablescan"), plan);
+    }
 }
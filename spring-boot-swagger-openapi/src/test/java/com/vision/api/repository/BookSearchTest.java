@@ -0,0 +1,106 @@
+package com.vision.api.repository;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.service.AuthorService;
+import com.vision.api.service.BookSearchIndex;
+import com.vision.api.service.BookService;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Book Search Integration Tests")
+public class BookSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Test
+    @DisplayName("Test 1: given seeded Books, when search, then ranked page and genre facets are returned")
+    public void test_1_givenSeededBooks_whenSearch_ThenRankedResults() throws Exception {
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books/search?q=castle high&authorId=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].title", is("The Man in the High Castle")))
+                .andExpect(jsonPath("$.books[0].author.email", is("editor@nexus.corp")))
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.genres['Sci-Fi']", is(1)));
+    }
+
+    @Test
+    @DisplayName("Test 2: given a new Book, when its Author is deleted, then search follows both changes")
+    public void test_2_givenNewBook_whenAuthorDeleted_ThenIndexFollows() throws Exception {
+
+        //given
+        Long authorId = authorService.create(AuthorDto.builder().firstName("Ursula").lastName("Guin").email("ursula@earthsea.org").build());
+        AuthorDto author = AuthorDto.builder().id(authorId).build();
+        bookService.create(BookDto.builder().title("Wizard of Earthsea").genre("Fantasy").price(BigDecimal.TEN).author(author).build());
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books/search?q=earthsea"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[*].title", contains("Wizard of Earthsea")));
+
+        authorService.delete(authorId);
+        this.mockMvc.perform(get("/api/v1/books/search?q=earthsea"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(0)));
+    }
+
+    @Test
+    @DisplayName("Test 3: given a page whose offset overflows an int, when search, then an empty page is returned")
+    public void test_3_givenHugePage_whenSearch_ThenEmptyPage() throws Exception {
+
+        //when-then
+        this.mockMvc.perform(get("/api/v1/books/search?page=2147483647&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books", hasSize(0)))
+                .andExpect(jsonPath("$.total", greaterThan(0)));
+    }
+
+    @Test
+    @DisplayName("Test 4: given an indexed Book the database does not return, when search, then it is skipped and stays indexed")
+    public void test_4_givenIndexedBookMissingFromDatabase_whenSearch_ThenSkippedNotRemoved() throws Exception {
+
+        //given
+        bookSearchIndex.put(BookDto.builder().id(900_001L).title("Lathe of Heaven").genre("Sci-Fi").price(BigDecimal.TEN)
+                .author(AuthorDto.builder().id(1L).build()).build());
+        int indexed = bookSearchIndex.size();
+
+        //when-then
+        try {
+            this.mockMvc.perform(get("/api/v1/books/search?q=lathe"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.books", hasSize(0)));
+            assertEquals(indexed, bookSearchIndex.size());
+        } finally {
+            bookSearchIndex.remove(900_001L);
+        }
+    }
+}
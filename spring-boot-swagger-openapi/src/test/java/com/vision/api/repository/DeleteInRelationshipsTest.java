@@ -9,14 +9,24 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.vision.api.model.Author;
+import com.vision.api.service.AuthorService;
 import com.vision.api.model.Book;
 import com.vision.api.repository.AuthorRepository;
 import com.vision.api.repository.BookRepository;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import javax.persistence.EntityManagerFactory;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -31,6 +41,12 @@ public class DeleteInRelationshipsTest {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Author author1;
     private Author author2;
     private long authorInitialCount;
@@ -85,4 +101,46 @@ public class DeleteInRelationshipsTest {
         assertEquals(bookInitialCount, bookRepository.count());
         assertEquals(authorCount, authorRepository.count());
     }
+
+    @Test
+    @DisplayName("Test 3: when deleting Authors through the service, then their Books go in a fixed number of statements and leave the cache")
+    public void test_3_whenDeletingAuthorsInBulk_thenBooksGoByCascade() {
+
+        //given
+        List<Book> more = bookRepository.saveAll(Arrays.asList(
+                Book.builder().description("example3").title("test3").genre("genre1").price(BigDecimal.TEN).author(author1).build(),
+                Book.builder().description("example4").title("test4").genre("genre1").price(BigDecimal.TEN).author(author1).build()));
+        bookRepository.findById(book1.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Book.class, book1.getId()));
+
+        //when
+        QueryCountHolder.clear();
+        assertEquals(2, authorService.deleteAll(List.of(author1.getId(), author2.getId(), 404_404L)));
+
+        //then
+        // the book ids, then the search index and the stats re-reading them after commit
+        assertEquals(3, QueryCountHolder.getGrandTotal().getSelect());
+        assertEquals(1, QueryCountHolder.getGrandTotal().getDelete());
+        // the cached entry is left as an unlocked soft lock, which a lookup does not serve
+        assertTrue(bookRepository.findById(book1.getId()).isEmpty());
+        assertFalse(bookRepository.existsById(more.get(0).getId()));
+        assertEquals(bookInitialCount, bookRepository.count());
+        assertEquals(authorInitialCount, authorRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test 4: when deleting more Authors than fit in one IN list, then the book ids are selected in chunks")
+    public void test_4_whenDeletingManyAuthors_thenBookIdsSelectedInChunks() {
+
+        //given
+        List<Long> unknownIds = LongStream.rangeClosed(1, 2001).map(id -> 500_000 + id).boxed().collect(Collectors.toList());
+
+        //when
+        QueryCountHolder.clear();
+        assertEquals(0, authorService.deleteAll(unknownIds));
+
+        //then
+        assertEquals(3, QueryCountHolder.getGrandTotal().getSelect());
+        assertEquals(authorInitialCount + 2, authorRepository.count());
+    }
 }
@@ -0,0 +1,105 @@
+package com.vision.api.repository;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vision.api.config.RepeatedQueryListener;
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.AuthorMultiGetDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookMultiGetDto;
+import com.vision.api.service.AuthorService;
+import com.vision.api.service.BookService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Query Count Integration Tests")
+public class QueryCountTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RepeatedQueryListener repeatedQueryListener;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Test 1: given a cold cache, when list Books, then one select is executed")
+    public void test_1_givenColdCache_whenListBooks_ThenOneSelect() {
+        assertMaxSelects(1, () -> assertFalse(bookService.list().isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Test 2: given a cold cache, when page or list Books by Author, then one select is executed")
+    public void test_2_givenColdCache_whenPageOrListByAuthor_ThenOneSelect() {
+        assertMaxSelects(1, () -> bookService.page(null, 20));
+        assertMaxSelects(1, () -> bookService.getAllBooksByAutherId(1L));
+    }
+
+    @Test
+    @DisplayName("Test 3: given one request, when the same select runs past the threshold, then it is reported once")
+    public void test_3_givenRepeatedSelect_whenPastThreshold_ThenReportedOnce() {
+
+        //given
+        double before = meterRegistry.counter("vision.sql.repeated").count();
+
+        //when
+        repeatedQueryListener.begin();
+        try {
+            for (int i = 0; i < 15; i++) {
+                entityManagerFactory.getCache().evictAll();
+                authorService.getAuthorById(1L);
+            }
+        } finally {
+            repeatedQueryListener.end();
+        }
+
+        //then
+        assertEquals(before + 1, meterRegistry.counter("vision.sql.repeated").count());
+    }
+
+    @Test
+    @DisplayName("Test 4: given a cold cache, when get many Books or Authors by ids, then one select each, in request order")
+    public void test_4_givenColdCache_whenMultiGet_ThenOneSelect() {
+        assertMaxSelects(1, () -> {
+            BookMultiGetDto books = bookService.getAll(List.of(7L, 404L, 2L, 7L));
+            assertEquals(List.of(7L, 2L), books.getBooks().stream().map(BookDto::getId).collect(Collectors.toList()));
+            assertEquals(List.of(404L), books.getMissing());
+            assertNotNull(books.getBooks().get(0).getAuthor().getLastName());
+        });
+        assertMaxSelects(1, () -> {
+            AuthorMultiGetDto authors = authorService.getAll(List.of(3L, 1L, 404L));
+            assertEquals(List.of(3L, 1L), authors.getAuthors().stream().map(AuthorDto::getId).collect(Collectors.toList()));
+            assertEquals(List.of(404L), authors.getMissing());
+        });
+    }
+
+    private void assertMaxSelects(long max, Runnable serviceCall) {
+        entityManagerFactory.getCache().evictAll();
+        QueryCountHolder.clear();
+        serviceCall.run();
+        long selects = QueryCountHolder.getGrandTotal().getSelect();
+        assertTrue(selects <= max, "expected at most " + max + " selects, got " + selects);
+    }
+}
@@ -0,0 +1,148 @@
+package com.vision.api.repository;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.AuthorResponseDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookResponseDto;
+import com.vision.api.exception.EntityNotFoundException;
+import com.vision.api.service.AuthorService;
+import com.vision.api.service.BookFields;
+import com.vision.api.service.BookService;
+import com.vision.api.service.Versioned;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "read-model.enabled=true")
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Read Model Integration Tests")
+public class ReadModelTest {
+
+    private static final long AUTHOR_ID = 240L;
+    private static final long OTHER_AUTHOR_ID = 241L;
+    private static final long BOOK_ID = 2400L;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @AfterEach
+    public void cleanUp() {
+        authorService.deleteAll(List.of(AUTHOR_ID, OTHER_AUTHOR_ID));
+    }
+
+    @Test
+    @DisplayName("Test 1: given the read model, when get or list Books and Authors, then no select is executed")
+    public void test_1_givenReadModel_whenRead_ThenNoSelect() {
+
+        //when
+        QueryCountHolder.clear();
+        BookDto book = bookService.get(5L);
+        List<BookDto> books = bookService.list();
+        AuthorDto author = authorService.getAuthorById(2L);
+        AuthorResponseDto authorWithBooks = authorService.getBooksByAuthorId(2L);
+
+        //then
+        assertEquals(0, QueryCountHolder.getGrandTotal().getSelect());
+        assertEquals("Carrie", book.getTitle());
+        assertEquals("King", book.getAuthor().getLastName());
+        assertTrue(books.size() >= 8);
+        assertEquals("stking@darktower.it", author.getEmail());
+        assertEquals(List.of(5L, 6L, 7L, 8L), bookIds(authorWithBooks));
+    }
+
+    @Test
+    @DisplayName("Test 2: given committed writes, when read, then the snapshot has them")
+    public void test_2_givenWrites_whenRead_ThenSnapshotUpdated() {
+
+        //given
+        authorService.create(AuthorDto.builder().id(AUTHOR_ID).firstName("Richard").lastName("Bachman").email("bachman@vision.io").build());
+        authorService.create(AuthorDto.builder().id(OTHER_AUTHOR_ID).firstName("Owen").lastName("King").email("owen@vision.io").build());
+        bookService.create(book(BOOK_ID, "Rage", AUTHOR_ID));
+        bookService.create(book(BOOK_ID + 1, "Roadwork", AUTHOR_ID));
+
+        //when
+        bookService.update(book(BOOK_ID, "Rage Revised", AUTHOR_ID));
+        bookService.update(book(BOOK_ID + 1, "Roadwork", OTHER_AUTHOR_ID));
+        authorService.update(AuthorDto.builder().id(AUTHOR_ID).firstName("Richard").lastName("King").email("bachman@vision.io").build());
+
+        //then
+        QueryCountHolder.clear();
+        BookDto book = bookService.get(BOOK_ID);
+        AuthorResponseDto author = authorService.getBooksByAuthorId(AUTHOR_ID);
+        AuthorResponseDto otherAuthor = authorService.getBooksByAuthorId(OTHER_AUTHOR_ID);
+        assertEquals(0, QueryCountHolder.getGrandTotal().getSelect());
+        assertEquals("Rage Revised", book.getTitle());
+        assertEquals("King", book.getAuthor().getLastName());
+        assertEquals(List.of(BOOK_ID), bookIds(author));
+        assertEquals(List.of(BOOK_ID + 1), bookIds(otherAuthor));
+    }
+
+    @Test
+    @DisplayName("Test 3: given a deleted Author, when read, then neither the Author nor its Books are served")
+    public void test_3_givenDeletedAuthor_whenRead_ThenGone() {
+
+        //given
+        authorService.create(AuthorDto.builder().id(AUTHOR_ID).firstName("Richard").lastName("Bachman").email("bachman@vision.io").build());
+        bookService.create(book(BOOK_ID, "Rage", AUTHOR_ID));
+
+        //when
+        authorService.deleteAll(List.of(AUTHOR_ID));
+
+        //then
+        assertTrue(bookService.list().stream().noneMatch(book -> book.getId() == BOOK_ID));
+        assertThrows(EntityNotFoundException.class, () -> bookService.get(BOOK_ID));
+        assertThrows(EntityNotFoundException.class, () -> authorService.getBooksByAuthorId(AUTHOR_ID));
+    }
+
+    @Test
+    @DisplayName("Test 4: given the read model, when read with versions, then each version comes with its body and matches the database")
+    public void test_4_givenReadModel_whenReadVersioned_ThenVersionsMatch() {
+
+        //given
+        authorService.create(AuthorDto.builder().id(AUTHOR_ID).firstName("Richard").lastName("Bachman").email("bachman@vision.io").build());
+        bookService.create(book(BOOK_ID, "Rage", AUTHOR_ID));
+        bookService.update(book(BOOK_ID, "Rage Revised", AUTHOR_ID));
+
+        //when
+        QueryCountHolder.clear();
+        Versioned<BookDto> book = bookService.getVersioned(BOOK_ID);
+        long bookVersion = bookService.getVersion(BOOK_ID);
+        Versioned<AuthorDto> author = authorService.getVersionedAuthorById(AUTHOR_ID);
+        Versioned<AuthorResponseDto> books = authorService.getVersionedBooksByAuthorId(AUTHOR_ID);
+        String booksVersion = authorService.getBooksVersion(AUTHOR_ID);
+
+        //then
+        assertEquals(0, QueryCountHolder.getGrandTotal().getSelect());
+        assertEquals("Rage Revised", book.getValue().getTitle());
+        assertEquals("1", book.getVersion());
+        assertEquals(1L, bookVersion);
+        assertEquals(String.valueOf(authorService.getVersion(AUTHOR_ID)), author.getVersion());
+        assertEquals(booksVersion, books.getVersion());
+        // the fields variants always read the database
+        assertEquals(book.getVersion(), bookService.getVersioned(BOOK_ID, BookFields.parse("id")).getVersion());
+        assertEquals(booksVersion, authorService.getVersionedBooksByAuthorId(AUTHOR_ID, BookFields.parse("id")).getVersion());
+    }
+
+    private static List<Long> bookIds(AuthorResponseDto author) {
+        return author.getBooks().stream().map(BookResponseDto::getId).collect(Collectors.toList());
+    }
+
+    private static BookDto book(long id, String title, long authorId) {
+        return BookDto.builder().id(id).title(title).description("").genre("Thriller").price(new BigDecimal("6.50"))
+                .author(AuthorDto.builder().id(authorId).build()).build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.vision.api.repository;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.CacheStatisticsDto;
+import com.vision.api.exception.EntityNotFoundException;
+import com.vision.api.model.Author;
+import com.vision.api.service.AuthorService;
+import com.vision.api.service.CacheStatisticsService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Second Level Cache Integration Tests")
+public class SecondLevelCacheTest {
+
+    private static final String AUTHOR_REGION = Author.class.getName();
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    private Author author;
+
+    @BeforeEach
+    public void init() {
+        author = authorRepository.save(Author.builder().email("cache@com.vision.api.com").firstName("Cache").lastName("Surname").build());
+    }
+
+    @AfterEach
+    public void teardown() {
+        authorRepository.findById(author.getId()).ifPresent(authorRepository::delete);
+    }
+
+    @Test
+    @DisplayName("Test 1: when reading an Author twice, then the second read is a cache hit")
+    public void test_1_whenReadingAuthorTwice_thenSecondReadIsCacheHit() {
+        authorService.getAuthorById(author.getId());
+        long hits = authorRegion().getHits();
+
+        authorService.getAuthorById(author.getId());
+
+        assertTrue(authorRegion().getHits() > hits);
+    }
+
+    @Test
+    @DisplayName("Test 2: when updating a cached Author, then the next read sees the update")
+    public void test_2_whenUpdatingCachedAuthor_thenNextReadSeesUpdate() {
+        authorService.getAuthorById(author.getId());
+
+        authorService.update(AuthorDto.builder().id(author.getId()).email(author.getEmail()).firstName("Updated").lastName("Surname").build());
+
+        assertEquals("Updated", authorService.getAuthorById(author.getId()).getFirstName());
+    }
+
+    @Test
+    @DisplayName("Test 3: when deleting a cached Author, then the next read does not find it")
+    public void test_3_whenDeletingCachedAuthor_thenNextReadFails() {
+        authorService.getAuthorById(author.getId());
+
+        authorService.delete(author.getId());
+
+        assertThrows(EntityNotFoundException.class, () -> authorService.getAuthorById(author.getId()));
+    }
+
+    private CacheStatisticsDto authorRegion() {
+        return cacheStatisticsService.list().stream()
+                .filter(statistics -> AUTHOR_REGION.equals(statistics.getRegion()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No statistics for region " + AUTHOR_REGION));
+    }
+}
@@ -0,0 +1,133 @@
+package com.vision.api.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.exception.DuplicatedEntityException;
+import com.vision.api.exception.EntityNotFoundException;
+import com.vision.api.exception.PreconditionFailedException;
+import com.vision.api.model.Author;
+import com.vision.api.service.AuthorService;
+import com.vision.api.service.BookService;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("IntegrationTest")
+@DisplayName("Single Statement Write Integration Tests")
+public class SingleStatementWriteTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcWriteRepository jdbcWriteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Test 1: given a taken email or id, when create Author, then DuplicatedEntityException is thrown")
+    public void test_1_givenTakenEmailOrId_whenCreateAuthor_ThenDuplicated() {
+
+        //given
+        AuthorDto sameEmail = AuthorDto.builder().firstName("Other").lastName("Dick").email("editor@nexus.corp").build();
+        AuthorDto withId = AuthorDto.builder().id(50_001L).firstName("Kim").lastName("Robinson").email("kim@mars.org").build();
+
+        //when-then
+        DuplicatedEntityException byEmail = assertThrows(DuplicatedEntityException.class, () -> authorService.create(sameEmail));
+        assertTrue(byEmail.getMessage().contains("editor@nexus.corp"));
+
+        assertEquals(50_001L, authorService.create(withId));
+        withId.setEmail("kim.robinson@mars.org");
+        DuplicatedEntityException byId = assertThrows(DuplicatedEntityException.class, () -> authorService.create(withId));
+        assertTrue(byId.getMessage().contains("50001"));
+    }
+
+    @Test
+    @DisplayName("Test 2: given an unknown Author, when create or update Book, then EntityNotFoundException is thrown")
+    public void test_2_givenUnknownAuthor_whenWriteBook_ThenNotFound() {
+
+        //given
+        BookDto book = BookDto.builder().title("Red Mars").genre("Sci-Fi").price(BigDecimal.TEN)
+                .author(AuthorDto.builder().id(404_404L).build()).build();
+
+        //when-then
+        assertThrows(EntityNotFoundException.class, () -> bookService.create(book));
+        book.setId(1L);
+        assertThrows(EntityNotFoundException.class, () -> bookService.update(book));
+        book.setId(404_404L);
+        book.getAuthor().setId(1L);
+        assertThrows(EntityNotFoundException.class, () -> bookService.update(book));
+    }
+
+    @Test
+    @DisplayName("Test 3: given a cached Author, when update, then the version is checked and reads see the change")
+    public void test_3_givenCachedAuthor_whenUpdate_ThenVersionCheckedAndReadsFresh() {
+
+        //given
+        Long authorId = authorService.create(AuthorDto.builder().firstName("Octavia").lastName("Butler").email("octavia@parable.org").build());
+        assertEquals("Butler", authorService.getAuthorById(authorId).getLastName());
+        long version = authorService.getVersion(authorId);
+
+        //when
+        authorService.update(AuthorDto.builder().id(authorId).firstName("Octavia").lastName("Estelle").email("octavia@parable.org").build(), version);
+
+        //then
+        assertEquals("Estelle", authorService.getAuthorById(authorId).getLastName());
+        assertEquals(version + 1, authorService.getVersion(authorId));
+        AuthorDto stale = AuthorDto.builder().id(authorId).firstName("Octavia").lastName("Stale").email("octavia@parable.org").build();
+        assertThrows(PreconditionFailedException.class, () -> authorService.update(stale, version));
+        AuthorDto takenEmail = AuthorDto.builder().id(authorId).firstName("Octavia").lastName("Butler").email("editor@nexus.corp").build();
+        assertThrows(DuplicatedEntityException.class, () -> authorService.update(takenEmail));
+    }
+
+    @Test
+    @DisplayName("Test 4: given an uncommitted update, when another transaction reads the Author, then the old row is not cached")
+    public void test_4_givenUncommittedUpdate_whenConcurrentRead_ThenOldRowNotCached() {
+
+        //given
+        Long authorId = authorService.create(AuthorDto.builder().firstName("Ursula").lastName("Guin").email("ursula@lathe.org").build());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CacheRegionStatistics authorRegion = entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getDomainDataRegionStatistics(Author.class.getName());
+
+        //when
+        transaction.executeWithoutResult(status -> {
+            jdbcWriteRepository.updateAuthor(Author.builder().id(authorId).firstName("Ursula").lastName("Le Guin")
+                    .email("ursula@lathe.org").build(), null);
+            long puts = authorRegion.getPutCount();
+            String seen = CompletableFuture.supplyAsync(() -> transaction.execute(read ->
+                    authorRepository.findById(authorId).orElseThrow().getLastName())).join();
+            assertEquals("Guin", seen);
+            assertEquals(puts, authorRegion.getPutCount());
+        });
+
+        //then
+        assertEquals("Le Guin", transaction.execute(read -> authorRepository.findById(authorId).orElseThrow().getLastName()));
+        authorService.delete(authorId);
+    }
+}
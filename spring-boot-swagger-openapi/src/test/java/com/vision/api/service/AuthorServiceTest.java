@@ -1,19 +1,35 @@
 package com.vision.api.service;
 
 import org.junit.jupiter.api.*;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.test.context.ActiveProfiles;
 import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.AuthorResponseDto;
 
+import com.vision.api.exception.BadRequestException;
 import com.vision.api.exception.DuplicatedEntityException;
 import com.vision.api.exception.EntityNotFoundException;
+import com.vision.api.mapper.AuthorMapperImpl;
 import com.vision.api.model.Author;
+import com.vision.api.model.Book;
 import com.vision.api.repository.AuthorRepository;
+import com.vision.api.repository.BookProjectionRepository;
+import com.vision.api.repository.JdbcWriteRepository;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @TestInstance(PER_CLASS)
@@ -23,6 +39,7 @@ import static org.mockito.Mockito.when;
 public class AuthorServiceTest {
 
     private AuthorRepository authorRepositoryMock;
+    private JdbcWriteRepository jdbcWriteRepositoryMock;
     private AuthorService authorService;
 
     //private BookRepository bookRepositoryMock;
@@ -32,7 +49,9 @@ public class AuthorServiceTest {
     public void init() {
     	//author
         authorRepositoryMock = mock(AuthorRepository.class);
-        authorService = new AuthorService(authorRepositoryMock, new ModelMapper());
+        jdbcWriteRepositoryMock = mock(JdbcWriteRepository.class);
+        authorService = new AuthorService(authorRepositoryMock, mock(BookProjectionRepository.class), jdbcWriteRepositoryMock,
+                new AuthorMapperImpl(), mock(ApplicationEventPublisher.class), mock(PlatformTransactionManager.class));
         
       //book
        // bookRepositoryMock = mock(BookRepository.class);
@@ -161,7 +180,7 @@ public class AuthorServiceTest {
         		.lastName("Surname").build();
 
         //when
-        when(authorRepositoryMock.save(author1)).thenThrow(new DuplicatedEntityException(errorMsg));
+        doThrow(new DuplicateKeyException("PRIMARY KEY ON PUBLIC.AUTHOR(ID)")).when(jdbcWriteRepositoryMock).insertAuthor(author1);
         DuplicatedEntityException throwException = assertThrows(DuplicatedEntityException.class, () ->  authorService.create(authorDto1));
 
         // then
@@ -186,7 +205,7 @@ public class AuthorServiceTest {
         		.lastName("Surname").build();
 
         //when
-        when(authorRepositoryMock.save(any(Author.class))).thenReturn(author1);
+        when(jdbcWriteRepositoryMock.updateAuthor(author1, null)).thenReturn(true);
         Long authorId1 = authorService.update(authorDto1);
 
         //then
@@ -213,79 +232,66 @@ public class AuthorServiceTest {
         		.lastName("Surname").build();
 
         //when
-        when(authorRepositoryMock.save(author1)).thenThrow(new EntityNotFoundException(errorMsg));
+        when(authorRepositoryMock.findVersionById(authorDto1.getId())).thenReturn(Optional.empty());
         EntityNotFoundException throwException = assertThrows(EntityNotFoundException.class, () ->  authorService.update(authorDto1));
 
         // then
         assertEquals(errorMsg, throwException.getMessage());
     }
     
-    //@Test
+    @Test
     @DisplayName("Test 9: given Author id, when get Author, then AuthorResponseDto is retrieved")
     void test_9_getBooksByAuthorId_whenGetAuthor_ThenAuthorResponseDtoRetrieved() {
-    	//TODO 
-    	/*
+
         //given
-    	 AuthorDto authorDto1 = AuthorDto.builder()
-         		.email("test@gmail.com")
-         		.firstName("Test")
-         		.lastName("Surname").build();
-         Author author1 = Author.builder()
-         		.id(0L)
-         		.email("test@gmail.com")
-         		.firstName("Test")
-         		.lastName("Surname").build();
-
-         //when
-         when(authorRepositoryMock.save(any(Author.class))).thenReturn(author1);
-         Long authorId = authorService.create(authorDto1);
-         assertNotNull(authorId);
-         author1.setId(authorId);
-    	
-         BookDto bookDto1 = BookDto.builder()
-         		.description("com.vision.api")
-         		.genre("Terror")
-         		.title("title")
-         		.price(BigDecimal.TEN).build();
-         Book book1 = Book.builder()
-         		.id(0L).description("com.vision.api")
-         		.genre("Terror")
-         		.title("title")
-         		.price(BigDecimal.TEN).build();
-
-         //when
-         when(bookRepositoryMock.save(any(Book.class))).thenReturn(book1);
-         Long bookId1 = bookService.create(bookDto1);
-
-         //then
-         assertNotNull(bookId1);
-         book1.setId(bookId1);
-         book1.setAuthor(author1);
-         
-        
+        long existingId = 1L;
+        Author author1 = Author.builder()
+        		.id(existingId)
+        		.email("test@gmail.com")
+        		.firstName("Test")
+        		.lastName("Surname").build();
+        Book book1 = Book.builder()
+        		.id(0L)
+        		.description("com.vision.api")
+        		.genre("Terror")
+        		.title("title")
+        		.price(BigDecimal.TEN)
+        		.author(author1).build();
+        author1.setBooks(Arrays.asList(book1));
+        when(authorRepositoryMock.findWithBooksById(existingId)).thenReturn(Optional.of(author1));
 
         //when
-        //List<BookDto> books = bookService.getAllBooksByAutherId(authorId);
-        // List<BookDto> books = bookService.getAllBooksByAutherId(authorId);
-
-        //assertEquals(book1.getId(), books.get(0).getId());
-         
-       //when(authorRepositoryMock.findById(authorId)).thenReturn(Optional.of(author1));
-
-        when(authorRepositoryMock.findAll()).thenReturn(Arrays.asList(author1));
-        when(bookRepositoryMock.findAll()).thenReturn(Arrays.asList(book1));
-     
-        //AuthorResponseDto authorResponseDto = authorService.getBooksByAuthorId(authorId);
-       
-        
+        AuthorResponseDto authorResponseDto = authorService.getBooksByAuthorId(existingId);
+
         //then
-        //assertNotNull(author1);
-       // assertNotNull(author1.getId());
-        //assertEquals(authorResponseDto.getId(), author1.getId());
-        //
-         
-         */
+        assertEquals(author1.getId(), authorResponseDto.getId());
+        assertEquals(author1.getEmail(), authorResponseDto.getEmail());
+        assertEquals(1, authorResponseDto.getBooks().size());
+        assertEquals(book1.getTitle(), authorResponseDto.getBooks().get(0).getTitle());
     }
 
+    @Test
+    @DisplayName("Test 10: given non existing Author id, when get books by Author, then exception is thrown")
+    void test_10_getBooksByAuthorId_whenNonExistingAuthor_ThenExceptionThrown() {
+
+        //given
+        long nonExistingId = 404L;
+        when(authorRepositoryMock.findWithBooksById(nonExistingId)).thenReturn(Optional.empty());
+
+        //when-then
+        assertThrows(EntityNotFoundException.class, () -> authorService.getBooksByAuthorId(nonExistingId));
+    }
 
+    @Test
+    @DisplayName("Test 11: given more than 1000 ids, when multi-get Authors, then BadRequestException is thrown")
+    void test_11_givenTooManyIds_whenGetAll_ThenBadRequest() {
+
+        //given
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+
+        //when-then
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> authorService.getAll(ids));
+        assertTrue(exception.getMessage().contains("1001"));
+        verify(authorRepositoryMock, never()).findAllById(any());
+    }
 }
@@ -0,0 +1,116 @@
+package com.vision.api.service;
+
+import org.junit.jupiter.api.*;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.BookDto;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+@Tag("UnitTest")
+@DisplayName("Book Search Index Unit Tests")
+public class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    public void init() {
+        index = new BookSearchIndex();
+        index.put(book(1L, "The Dark Tower", "A gunslinger crosses the desert", "Fantasy", "12.00", 2L));
+        index.put(book(2L, "The Shining", "A dark hotel in the mountains", "Terror", "9.50", 2L));
+        index.put(book(3L, "Dark Matter", "Dark dark dark", "Sci-Fi", "15.00", 1L));
+        index.put(book(4L, "Ubik", "Time runs backwards", "Sci-Fi", "7.00", 1L));
+    }
+
+    @Test
+    @DisplayName("Test 1: given a text query, when search, then matching Books are ranked by relevance")
+    void test_1_givenText_whenSearch_ThenRankedByRelevance() {
+
+        //when
+        BookSearchIndex.Hits hits = index.search(BookSearchCriteria.builder().text("dark").build(), 0, 10);
+
+        //then
+        assertEquals(3, hits.getTotal());
+        assertEquals(3L, hits.getBookIds().get(0));
+        assertTrue(hits.getBookIds().containsAll(Arrays.asList(1L, 2L)));
+    }
+
+    @Test
+    @DisplayName("Test 2: given filters, when search, then genre facets ignore the genre filter")
+    void test_2_givenFilters_whenSearch_ThenFacetsCounted() {
+
+        //when
+        BookSearchIndex.Hits hits = index.search(BookSearchCriteria.builder()
+                .genre("sci-fi")
+                .minPrice(new BigDecimal("8.00"))
+                .build(), 0, 10);
+
+        //then
+        assertEquals(Arrays.asList(3L), hits.getBookIds());
+        assertEquals(3, hits.getGenres().size());
+        assertEquals(1L, hits.getGenres().get("Sci-Fi"));
+        assertNull(hits.getGenres().get("Ubik"));
+    }
+
+    @Test
+    @DisplayName("Test 3: given an updated and a removed Book, when search, then the index reflects both")
+    void test_3_givenChanges_whenSearch_ThenIndexUpdated() {
+
+        //given
+        index.put(book(4L, "Ubik", "A dark spray can", "Sci-Fi", "7.00", 1L));
+        index.remove(3L);
+
+        //when
+        BookSearchIndex.Hits hits = index.search(BookSearchCriteria.builder().text("dark").authorId(1L).build(), 0, 10);
+
+        //then
+        assertEquals(Arrays.asList(4L), hits.getBookIds());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Test 4: given a page beyond the first, when search, then the total still counts every match")
+    void test_4_givenSecondPage_whenSearch_ThenPaged() {
+
+        //when
+        BookSearchIndex.Hits hits = index.search(BookSearchCriteria.builder().build(), 2, 2);
+
+        //then
+        assertEquals(4, hits.getTotal());
+        assertEquals(Arrays.asList(3L, 4L), hits.getBookIds());
+    }
+
+    @Test
+    @DisplayName("Test 5: given pages of a text query, when search, then together they are the full ranking")
+    void test_5_givenPages_whenSearch_ThenSameAsFullRanking() {
+
+        //when
+        BookSearchIndex.Hits all = index.search(BookSearchCriteria.builder().text("dark").build(), 0, 10);
+        BookSearchIndex.Hits first = index.search(BookSearchCriteria.builder().text("dark").build(), 0, 2);
+        BookSearchIndex.Hits second = index.search(BookSearchCriteria.builder().text("dark").build(), 2, 2);
+        BookSearchIndex.Hits beyond = index.search(BookSearchCriteria.builder().build(), Integer.MAX_VALUE, 2);
+
+        //then
+        assertEquals(all.getBookIds().subList(0, 2), first.getBookIds());
+        assertEquals(all.getBookIds().subList(2, 3), second.getBookIds());
+        assertEquals(3, second.getTotal());
+        assertTrue(beyond.getBookIds().isEmpty());
+        assertEquals(4, beyond.getTotal());
+    }
+
+    private static BookDto book(Long id, String title, String description, String genre, String price, Long authorId) {
+        return BookDto.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .genre(genre)
+                .price(new BigDecimal(price))
+                .author(AuthorDto.builder().id(authorId).build())
+                .build();
+    }
+}
@@ -1,24 +1,42 @@
 package com.vision.api.service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.*;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.vision.api.dto.AuthorDto;
 import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookPageDto;
 import com.vision.api.exception.DuplicatedEntityException;
 import com.vision.api.exception.EntityNotFoundException;
+import com.vision.api.mapper.AuthorMapperImpl;
+import com.vision.api.mapper.BookMapperImpl;
 import com.vision.api.model.Author;
 import com.vision.api.model.Book;
+import com.vision.api.repository.BookProjectionRepository;
 import com.vision.api.repository.BookRepository;
+import com.vision.api.repository.JdbcWriteRepository;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @TestInstance(PER_CLASS)
@@ -28,13 +46,18 @@ import static org.mockito.Mockito.when;
 public class BookServiceTest {
 
     private BookRepository bookRepositoryMock;
+    private JdbcWriteRepository jdbcWriteRepositoryMock;
     private BookService bookService;
+    private ApplicationEventPublisher eventPublisherMock;
 
 
     @BeforeAll
     public void init() {
         bookRepositoryMock = mock(BookRepository.class);
-        bookService = new BookService(bookRepositoryMock, new ModelMapper());
+        eventPublisherMock = mock(ApplicationEventPublisher.class);
+        jdbcWriteRepositoryMock = mock(JdbcWriteRepository.class);
+        bookService = new BookService(bookRepositoryMock, mock(BookProjectionRepository.class), jdbcWriteRepositoryMock,
+                new BookMapperImpl(new AuthorMapperImpl()), eventPublisherMock, mock(PlatformTransactionManager.class));
     }
 
     @Test
@@ -88,7 +111,7 @@ public class BookServiceTest {
         		.genre("Terror")
         		.title("title")
         		.price(BigDecimal.TEN).build();
-        when(bookRepositoryMock.findAll()).thenReturn(Arrays.asList(book1));
+        when(bookRepositoryMock.findAllWithAuthor()).thenReturn(Arrays.asList(book1));
 
         //when
         List<BookDto> books = bookService.list();
@@ -108,7 +131,8 @@ public class BookServiceTest {
         		.description("com.vision.api")
         		.genre("Terror")
         		.title("title")
-        		.price(BigDecimal.TEN).build();
+        		.price(BigDecimal.TEN)
+        		.author(AuthorDto.builder().id(1L).build()).build();
         Book book1 = Book.builder()
         		.id(0L)
         		.description("com.vision.api")
@@ -134,16 +158,12 @@ public class BookServiceTest {
         		.description("com.vision.api")
         		.genre("Terror")
         		.title("title")
-        		.price(BigDecimal.TEN).build();
-        Book Book1 = Book.builder()
-        		.description("com.vision.api")
-        		.genre("Terror")
-        		.title("title")
-        		.price(BigDecimal.TEN).build();
+        		.price(BigDecimal.TEN)
+        		.author(AuthorDto.builder().id(404L).build()).build();
         String errorMsg = "Unable to save an incomplete entity : "+bookDto1;
 
         //when
-        when(bookRepositoryMock.save(Book1)).thenThrow(new RuntimeException(errorMsg));
+        when(bookRepositoryMock.save(any(Book.class))).thenThrow(new RuntimeException(errorMsg));
         RuntimeException throwException = assertThrows(RuntimeException.class, () ->  bookService.create(bookDto1));
 
         // then
@@ -163,13 +183,14 @@ public class BookServiceTest {
         		.title("title")
         		.price(BigDecimal.TEN).build();
         //when
-        when(bookRepositoryMock.save(any(Book.class))).thenReturn(book1);
+        when(jdbcWriteRepositoryMock.updateBook(any(Book.class), isNull())).thenReturn(true);
         BookDto bookDto1 = BookDto.builder()
         		.id(existingBookId)
         		.description("com.vision.api")
         		.genre("Terror")
         		.title("title")
-        		.price(BigDecimal.TEN).build();
+        		.price(BigDecimal.TEN)
+        		.author(AuthorDto.builder().id(1L).build()).build();
         Long bookId = bookService.update(bookDto1);
 
         //then
@@ -189,9 +210,10 @@ public class BookServiceTest {
         		.description("com.vision.api")
         		.genre("Terror")
         		.title("title")
-        		.price(BigDecimal.TEN).build();
+        		.price(BigDecimal.TEN)
+        		.author(AuthorDto.builder().id(1L).build()).build();
         String errorMsg = "Entity Book with id " + existingBookId + " alrebooky exists";
-        when(bookRepositoryMock.findById(existingBookId)).thenThrow(new DuplicatedEntityException(errorMsg));
+        doThrow(new DuplicateKeyException("PRIMARY KEY ON PUBLIC.BOOK(ID)")).when(jdbcWriteRepositoryMock).insertBook(any(Book.class));
 
         //when
         DuplicatedEntityException throwException = assertThrows(DuplicatedEntityException.class, () ->  bookService.create(bookDto1));
@@ -218,7 +240,7 @@ public class BookServiceTest {
         		.genre("Terror")
         		.title("title")
         		.price(BigDecimal.TEN).build();
-        when(bookRepositoryMock.findAll()).thenReturn(Arrays.asList(book1));
+        when(bookRepositoryMock.findByAuthorId(authorId)).thenReturn(Arrays.asList(book1));
 
         //when
         List<BookDto> books = bookService.getAllBooksByAutherId(authorId);
@@ -229,4 +251,103 @@ public class BookServiceTest {
         assertEquals(book1.getId(), books.get(0).getId());
     }
 
+    @Test
+    @DisplayName("Test 9: given a full page of Books, when page Books, then next cursor is the last id")
+    void test_9_givenFullPage_whenPageBooks_ThenNextCursorReturned() {
+
+        //given
+        Book book1 = Book.builder().id(5L).genre("Terror").title("title5").price(BigDecimal.TEN).build();
+        Book book2 = Book.builder().id(6L).genre("Terror").title("title6").price(BigDecimal.TEN).build();
+        when(bookRepositoryMock.findPageAfter(eq(4L), any())).thenReturn(Arrays.asList(book1, book2));
+
+        //when
+        BookPageDto page = bookService.page(4L, 2);
+
+        //then
+        assertEquals(2, page.getBooks().size());
+        assertEquals(book2.getId(), page.getNext());
+    }
+
+    @Test
+    @DisplayName("Test 10: given a partial page of Books, when page Books, then there is no next cursor")
+    void test_10_givenPartialPage_whenPageBooks_ThenNoNextCursor() {
+
+        //given
+        Book book1 = Book.builder().id(7L).genre("Terror").title("title7").price(BigDecimal.TEN).build();
+        when(bookRepositoryMock.findPageAfter(eq(6L), any())).thenReturn(Arrays.asList(book1));
+
+        //when
+        BookPageDto page = bookService.page(6L, 2);
+
+        //then
+        assertEquals(1, page.getBooks().size());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    @DisplayName("Test 11: when stream Books, then every Book is passed to the consumer")
+    void test_11_whenStreamBooks_ThenEveryBookConsumed() {
+
+        //given
+        Book book1 = Book.builder().id(1L).genre("Terror").title("title1").price(BigDecimal.TEN).build();
+        Book book2 = Book.builder().id(2L).genre("Terror").title("title2").price(BigDecimal.TEN).build();
+        when(bookRepositoryMock.streamAll()).thenReturn(Stream.of(book1, book2));
+
+        //when
+        List<BookDto> books = new ArrayList<>();
+        bookService.stream(books::add);
+
+        //then
+        assertEquals(2, books.size());
+        assertEquals(book2.getId(), books.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Test 12: given Book data, when create new Book, then a change event is published")
+    void test_12_givenBookData_whenCreateBook_ThenChangeEventPublished() {
+
+        //given
+        BookDto bookDto1 = BookDto.builder().genre("Terror").title("title").price(BigDecimal.TEN)
+                .author(AuthorDto.builder().id(1L).build()).build();
+        Book book1 = Book.builder().id(42L).genre("Terror").title("title").price(BigDecimal.TEN).build();
+        when(bookRepositoryMock.save(any(Book.class))).thenReturn(book1);
+
+        //when
+        bookService.create(bookDto1);
+
+        //then
+        ArgumentCaptor<BooksChangedEvent> event = ArgumentCaptor.forClass(BooksChangedEvent.class);
+        verify(eventPublisherMock, atLeastOnce()).publishEvent(event.capture());
+        assertTrue(event.getValue().getBookIds().contains(42L));
+    }
+
+    @Test
+    @DisplayName("Test 13: given Book data without an Author id, when create or update Book, then nothing is written")
+    void test_13_givenBookWithoutAuthorId_whenWrite_ThenRejected() {
+
+        //given
+        BookDto bookDto1 = BookDto.builder().id(7L).genre("Terror").title("title").price(BigDecimal.TEN)
+                .author(AuthorDto.builder().build()).build();
+
+        //when-then
+        assertThrows(EntityNotFoundException.class, () -> bookService.create(bookDto1));
+        assertThrows(EntityNotFoundException.class, () -> bookService.update(bookDto1));
+        verify(jdbcWriteRepositoryMock, never()).insertBook(argThat(book -> book.getId() == 7L));
+        verify(jdbcWriteRepositoryMock, never()).updateBook(argThat(book -> book.getId() == 7L), any());
+    }
+
+    @Test
+    @DisplayName("Test 14: given no cursor, when page Books, then the first page includes the Book with id 0")
+    void test_14_givenNoCursor_whenPageBooks_ThenStartsBelowIdZero() {
+
+        //given
+        Book book0 = Book.builder().id(0L).genre("Terror").title("title0").price(BigDecimal.TEN).build();
+        when(bookRepositoryMock.findPageAfter(eq(Long.MIN_VALUE), any())).thenReturn(Arrays.asList(book0));
+
+        //when
+        BookPageDto page = bookService.page(null, 2);
+
+        //then
+        assertEquals(0L, page.getBooks().get(0).getId());
+    }
 }
@@ -0,0 +1,132 @@
+package com.vision.api.service;
+
+import org.junit.jupiter.api.*;
+
+import com.vision.api.dto.AuthorDto;
+import com.vision.api.dto.AuthorResponseDto;
+import com.vision.api.dto.BookDto;
+import com.vision.api.dto.BookResponseDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("UnitTest")
+@DisplayName("Catalogue Snapshot Unit Tests")
+public class CatalogueSnapshotTest {
+
+    private static final AuthorDto DICK = author(1L, "Dick");
+    private static final AuthorDto KING = author(2L, "King");
+    private static final AuthorDto DOE = author(3L, "Doe");
+
+    private CatalogueSnapshot snapshot;
+
+    @BeforeEach
+    public void init() {
+        snapshot = CatalogueSnapshot.build(
+                authors -> List.of(row(DICK), row(KING), row(DOE)).forEach(authors),
+                books -> List.of(row(book(1L, "Ubik", DICK)), row(book(2L, "VALIS", DICK)), row(book(5L, "Carrie", KING))).forEach(books));
+    }
+
+    @Test
+    @DisplayName("Test 1: given a built snapshot, when read, then Books carry their Author and Authors their Books in id order")
+    void test_1_givenBuilt_whenRead_ThenBooksAndAuthorsJoined() {
+
+        //when
+        BookDto book = snapshot.getBook(2L).getValue();
+        AuthorResponseDto dick = snapshot.getAuthorWithBooks(1L).getValue();
+        AuthorResponseDto doe = snapshot.getAuthorWithBooks(3L).getValue();
+
+        //then
+        assertEquals("VALIS", book.getTitle());
+        assertEquals("Dick", book.getAuthor().getLastName());
+        assertEquals(List.of(1L, 2L), bookIds(dick));
+        assertTrue(doe.getBooks().isEmpty());
+        assertNull(snapshot.getBook(3L));
+        assertEquals(List.of(1L, 2L, 5L), snapshot.getBooks().stream().map(BookDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Test 2: given changes, when apply, then a new snapshot has them and the old one is unchanged")
+    void test_2_givenChanges_whenApply_ThenCopyOnWrite() {
+
+        //given
+        TreeMap<Long, CatalogueSnapshot.Row<BookDto>> books = new TreeMap<>();
+        books.put(2L, row(book(2L, "VALIS", KING)));
+        books.put(5L, null);
+        books.put(9L, row(book(9L, "Misery", KING)));
+        TreeMap<Long, CatalogueSnapshot.Row<AuthorDto>> authors = new TreeMap<>();
+        authors.put(2L, row(author(2L, "Bachman")));
+        authors.put(3L, null);
+
+        //when
+        CatalogueSnapshot next = snapshot.apply(books, authors);
+
+        //then
+        assertEquals(List.of(1L), bookIds(next.getAuthorWithBooks(1L).getValue()));
+        assertEquals(List.of(2L, 9L), bookIds(next.getAuthorWithBooks(2L).getValue()));
+        assertEquals("Bachman", next.getBook(2L).getValue().getAuthor().getLastName());
+        assertNull(next.getBook(5L));
+        assertNull(next.getAuthor(3L));
+        assertEquals(3, next.bookCount());
+
+        assertEquals(List.of(1L, 2L), bookIds(snapshot.getAuthorWithBooks(1L).getValue()));
+        assertEquals("Carrie", snapshot.getBook(5L).getValue().getTitle());
+        assertEquals("Doe", snapshot.getAuthor(3L).getValue().getLastName());
+    }
+
+    @Test
+    @DisplayName("Test 3: given a DTO handed out, when it is changed, then the snapshot is not")
+    void test_3_givenDto_whenChanged_ThenSnapshotUnchanged() {
+
+        //when
+        snapshot.getBook(1L).getValue().setTitle("Changed");
+        snapshot.getBook(1L).getValue().getAuthor().setLastName("Changed");
+
+        //then
+        assertEquals("Ubik", snapshot.getBook(1L).getValue().getTitle());
+        assertEquals("Dick", snapshot.getAuthor(1L).getValue().getLastName());
+    }
+
+    @Test
+    @DisplayName("Test 4: given a changed Book, when read, then its version and its Author's books version change with the body")
+    void test_4_givenChangedBook_whenRead_ThenVersionsFollow() {
+
+        //given
+        TreeMap<Long, CatalogueSnapshot.Row<BookDto>> books = new TreeMap<>();
+        books.put(2L, new CatalogueSnapshot.Row<>(book(2L, "VALIS Revised", DICK), 1L));
+
+        //when
+        CatalogueSnapshot next = snapshot.apply(books, new TreeMap<>());
+
+        //then
+        assertEquals("0", snapshot.getBook(2L).getVersion());
+        assertEquals("1", next.getBook(2L).getVersion());
+        assertEquals(1L, next.getBookVersion(2L));
+        assertEquals("0", next.getAuthor(1L).getVersion());
+        assertEquals(snapshot.getBooksVersion(1L), snapshot.getAuthorWithBooks(1L).getVersion());
+        assertEquals(next.getBooksVersion(1L), next.getAuthorWithBooks(1L).getVersion());
+        assertNotEquals(snapshot.getBooksVersion(1L), next.getBooksVersion(1L));
+        assertEquals(snapshot.getBooksVersion(2L), next.getBooksVersion(2L));
+        assertNull(next.getBooksVersion(4L));
+    }
+
+    private static List<Long> bookIds(AuthorResponseDto author) {
+        return author.getBooks().stream().map(BookResponseDto::getId).collect(Collectors.toList());
+    }
+
+    private static <T> CatalogueSnapshot.Row<T> row(T value) {
+        return new CatalogueSnapshot.Row<>(value, 0L);
+    }
+
+    private static AuthorDto author(Long id, String lastName) {
+        return AuthorDto.builder().id(id).firstName("First").lastName(lastName).email(lastName.toLowerCase() + "@vision.api").build();
+    }
+
+    private static BookDto book(Long id, String title, AuthorDto author) {
+        return BookDto.builder().id(id).title(title).description("").genre("Sci-Fi").price(new BigDecimal("9.95")).author(author).build();
+    }
+}
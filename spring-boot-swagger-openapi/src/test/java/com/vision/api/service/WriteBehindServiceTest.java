@@ -0,0 +1,82 @@
+package com.vision.api.service;
+
+import com.vision.api.dto.OperationStatusDto.Status;
+import com.vision.api.exception.QueueFullException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("UnitTest")
+@DisplayName("Write Behind Service Unit Tests")
+public class WriteBehindServiceTest {
+
+    private WriteBehindService writeBehindService;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        writeBehindService = new WriteBehindService(transactionManager, new SimpleMeterRegistry(), 1, 10, 100);
+        writeBehindService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeBehindService.stop();
+    }
+
+    @Test
+    @DisplayName("Test 1: given a full queue, when submit, then QueueFullException is thrown")
+    void test_1_givenFullQueue_whenSubmit_ThenQueueFullException() throws Exception {
+
+        //given
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        String blocked = writeBehindService.submit(() -> {
+            writing.countDown();
+            await(release);
+            return 1L;
+        });
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        String queued = writeBehindService.submit(() -> 2L);
+
+        //when-then
+        assertThrows(QueueFullException.class, () -> writeBehindService.submit(() -> 3L));
+
+        release.countDown();
+        awaitDone(queued);
+        assertEquals(Status.DONE, writeBehindService.getStatus(blocked).get().getStatus());
+        assertEquals(2L, writeBehindService.getStatus(queued).get().getResourceId());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitDone(String operationId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && writeBehindService.getStatus(operationId).get().getStatus() == Status.PENDING; attempt++) {
+            Thread.sleep(50);
+        }
+    }
+}